@@ -0,0 +1,51 @@
+#!/usr/bin/env bash
+# Measures time from JVM launch until /actuator/health/readiness reports UP, then times the first request,
+# which pays for whatever lazy initialization and class loading startup deferred.
+#
+# Usage: scripts/startup-benchmark.sh [runs] [-- extra java arguments]
+# Examples:
+#   scripts/startup-benchmark.sh 5
+#   scripts/startup-benchmark.sh 5 -- -Dspring.profiles.active=fast-start
+#   scripts/startup-benchmark.sh 5 -- -XX:SharedArchiveFile=app.jsa -Dspring.profiles.active=fast-start -Dspring.aot.enabled=true
+#
+# JAR (default target/meteo-app-tech-1.0-SNAPSHOT.jar), PORT (default 8080) and FIRST_REQUEST_PATH
+# (default /temperature?latitude=52.52&longitude=13.41) can be overridden via the environment.
+set -euo pipefail
+
+RUNS=${1:-5}
+shift || true
+[[ "${1:-}" == "--" ]] && shift
+JAR=${JAR:-target/meteo-app-tech-1.0-SNAPSHOT.jar}
+PORT=${PORT:-8080}
+READINESS_URL="http://localhost:${PORT}/actuator/health/readiness"
+FIRST_REQUEST_URL="http://localhost:${PORT}${FIRST_REQUEST_PATH:-/temperature?latitude=52.52&longitude=13.41}"
+
+total=0
+first_total=0
+for run in $(seq 1 "$RUNS"); do
+    start=$(date +%s%N)
+    java "$@" -Dserver.port="$PORT" -jar "$JAR" > "startup-run-${run}.log" 2>&1 &
+    pid=$!
+
+    until curl -fs "$READINESS_URL" 2>/dev/null | grep -q '"UP"'; do
+        if ! kill -0 "$pid" 2>/dev/null; then
+            echo "Run ${run}: application exited before becoming ready, see startup-run-${run}.log" >&2
+            exit 1
+        fi
+        sleep 0.05
+    done
+
+    elapsed=$(( ($(date +%s%N) - start) / 1000000 ))
+    total=$(( total + elapsed ))
+
+    request_start=$(date +%s%N)
+    status=$(curl -s -o /dev/null -w '%{http_code}' "$FIRST_REQUEST_URL" || true)
+    first=$(( ($(date +%s%N) - request_start) / 1000000 ))
+    first_total=$(( first_total + first ))
+    echo "Run ${run}: ready after ${elapsed} ms, first request took ${first} ms (HTTP ${status})"
+
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+done
+
+echo "Average over ${RUNS} runs: ready after $(( total / RUNS )) ms, first request $(( first_total / RUNS )) ms"
@@ -0,0 +1,28 @@
+package org.meteoapp.cache;
+
+/**
+ * Packs a coordinate pair into a single long so readings can be keyed without allocating.
+ * Both axes are stored as micro-degree offsets, latitude in the high 32 bits and longitude in the low 32 bits.
+ */
+public final class CellId {
+
+    private static final double SCALE = 1_000_000d;
+    private static final long LATITUDE_OFFSET = 90_000_000L;
+    private static final long LONGITUDE_OFFSET = 180_000_000L;
+
+    private CellId() {}
+
+    public static long of(double latitude, double longitude) {
+        long packedLatitude = Math.round(latitude * SCALE) + LATITUDE_OFFSET;
+        long packedLongitude = Math.round(longitude * SCALE) + LONGITUDE_OFFSET;
+        return (packedLatitude << 32) | packedLongitude;
+    }
+
+    public static double latitude(long cellId) {
+        return ((cellId >>> 32) - LATITUDE_OFFSET) / SCALE;
+    }
+
+    public static double longitude(long cellId) {
+        return ((cellId & 0xFFFFFFFFL) - LONGITUDE_OFFSET) / SCALE;
+    }
+}
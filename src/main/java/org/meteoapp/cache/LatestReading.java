@@ -0,0 +1,4 @@
+package org.meteoapp.cache;
+
+public record LatestReading(long cellId, double temperature, long timestampMillis) {
+}
@@ -0,0 +1,230 @@
+package org.meteoapp.cache;
+
+import org.meteoapp.config.MeteoProperties;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * In-process tier holding the latest temperature per cell in primitive arrays.
+ * Each cell costs three array slots instead of a TemperatureData graph, reads are optimistic
+ * and writes only lock the segment the cell hashes to.
+ */
+@Component
+public class LatestReadingStore {
+
+    private static final long EMPTY = -1L;
+    private static final long DELETED = -2L;
+
+    private final Segment[] segments;
+    private final int segmentMask;
+
+    @Autowired
+    public LatestReadingStore(MeteoProperties properties) {
+        this(properties.getStore().getInitialCapacity(), properties.getStore().getConcurrency());
+    }
+
+    public LatestReadingStore(int initialCapacity, int concurrency) {
+        if (initialCapacity <= 0 || concurrency <= 0) {
+            throw new IllegalArgumentException("Store capacity and concurrency must be positive.");
+        }
+        int segmentCount = nextPowerOfTwo(concurrency);
+        int segmentCapacity = nextPowerOfTwo(Math.max(2, initialCapacity / segmentCount));
+        this.segments = new Segment[segmentCount];
+        this.segmentMask = segmentCount - 1;
+        for (int i = 0; i < segmentCount; i++) {
+            segments[i] = new Segment(segmentCapacity);
+        }
+    }
+
+    public LatestReading get(long cellId) {
+        long hash = hash(cellId);
+        return segmentFor(hash).get(cellId, (int) hash);
+    }
+
+    public void put(long cellId, double temperature, long timestampMillis) {
+        long hash = hash(cellId);
+        segmentFor(hash).put(cellId, (int) hash, temperature, timestampMillis);
+    }
+
+    public void remove(long cellId) {
+        long hash = hash(cellId);
+        segmentFor(hash).remove(cellId, (int) hash);
+    }
+
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    public void clear() {
+        for (Segment segment : segments) {
+            segment.clear();
+        }
+    }
+
+    private Segment segmentFor(long hash) {
+        return segments[(int) (hash >>> 32) & segmentMask];
+    }
+
+    private static long hash(long cellId) {
+        long h = cellId * 0x9E3779B97F4A7C15L;
+        return h ^ (h >>> 29);
+    }
+
+    private static int nextPowerOfTwo(int value) {
+        return value <= 1 ? 1 : Integer.highestOneBit(value - 1) << 1;
+    }
+
+    private static final class Table {
+        private final long[] keys;
+        private final double[] temperatures;
+        private final long[] timestamps;
+
+        private Table(int capacity) {
+            this.keys = new long[capacity];
+            this.temperatures = new double[capacity];
+            this.timestamps = new long[capacity];
+            Arrays.fill(keys, EMPTY);
+        }
+    }
+
+    private static final class Segment {
+        private final StampedLock lock = new StampedLock();
+        private final int initialCapacity;
+        private Table table;
+        private int size;
+        private int used;
+
+        private Segment(int capacity) {
+            this.initialCapacity = capacity;
+            this.table = new Table(capacity);
+        }
+
+        private LatestReading get(long cellId, int hash) {
+            long stamp = lock.tryOptimisticRead();
+            LatestReading reading = find(table, cellId, hash);
+            if (!lock.validate(stamp)) {
+                stamp = lock.readLock();
+                try {
+                    reading = find(table, cellId, hash);
+                } finally {
+                    lock.unlockRead(stamp);
+                }
+            }
+            return reading;
+        }
+
+        private void put(long cellId, int hash, double temperature, long timestampMillis) {
+            long stamp = lock.writeLock();
+            try {
+                int index = indexOf(table, cellId, hash);
+                if (index >= 0) {
+                    if (table.timestamps[index] <= timestampMillis) {
+                        table.temperatures[index] = temperature;
+                        table.timestamps[index] = timestampMillis;
+                    }
+                    return;
+                }
+                if ((used + 1) * 4L > table.keys.length * 3L) {
+                    rehash();
+                }
+                insert(table, cellId, hash, temperature, timestampMillis);
+                size++;
+                used++;
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        private void remove(long cellId, int hash) {
+            long stamp = lock.writeLock();
+            try {
+                int index = indexOf(table, cellId, hash);
+                if (index >= 0) {
+                    table.keys[index] = DELETED;
+                    size--;
+                }
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        private int size() {
+            long stamp = lock.readLock();
+            try {
+                return size;
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        private void clear() {
+            long stamp = lock.writeLock();
+            try {
+                table = new Table(initialCapacity);
+                size = 0;
+                used = 0;
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        private void rehash() {
+            int capacity = table.keys.length;
+            if (size * 2L > capacity) {
+                capacity <<= 1;
+            }
+            Table resized = new Table(capacity);
+            for (int i = 0; i < table.keys.length; i++) {
+                long key = table.keys[i];
+                if (key >= 0) {
+                    insert(resized, key, (int) hash(key), table.temperatures[i], table.timestamps[i]);
+                }
+            }
+            table = resized;
+            used = size;
+        }
+
+        private static void insert(Table table, long cellId, int hash, double temperature, long timestampMillis) {
+            int mask = table.keys.length - 1;
+            int index = hash & mask;
+            while (table.keys[index] >= 0) {
+                index = (index + 1) & mask;
+            }
+            table.keys[index] = cellId;
+            table.temperatures[index] = temperature;
+            table.timestamps[index] = timestampMillis;
+        }
+
+        private static int indexOf(Table table, long cellId, int hash) {
+            long[] keys = table.keys;
+            int mask = keys.length - 1;
+            int index = hash & mask;
+            for (int probes = 0; probes <= mask; probes++) {
+                long key = keys[index];
+                if (key == cellId) {
+                    return index;
+                }
+                if (key == EMPTY) {
+                    return -1;
+                }
+                index = (index + 1) & mask;
+            }
+            return -1;
+        }
+
+        private static LatestReading find(Table table, long cellId, int hash) {
+            int index = indexOf(table, cellId, hash);
+            if (index < 0) {
+                return null;
+            }
+            return new LatestReading(cellId, table.temperatures[index], table.timestamps[index]);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package org.meteoapp.cache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Size-bounded map from cell id to value that evicts the least recently used entry once full.
+ * Split into access-ordered segments so lookups for different cells rarely wait on the same lock.
+ */
+public final class LruCache<V> {
+
+    private static final int MAX_SEGMENTS = 16;
+    private static final int MIN_SEGMENT_ENTRIES = 64;
+
+    private final Segment<V>[] segments;
+    private final int segmentMask;
+
+    @SuppressWarnings("unchecked")
+    public LruCache(int maxEntries) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("Cache size must be positive.");
+        }
+        int segmentCount = 1;
+        while (segmentCount < MAX_SEGMENTS && segmentCount * 2 * MIN_SEGMENT_ENTRIES <= maxEntries) {
+            segmentCount *= 2;
+        }
+        this.segments = new Segment[segmentCount];
+        this.segmentMask = segmentCount - 1;
+        for (int i = 0; i < segmentCount; i++) {
+            segments[i] = new Segment<>(maxEntries / segmentCount + (i < maxEntries % segmentCount ? 1 : 0));
+        }
+    }
+
+    public V get(long cellId) {
+        Segment<V> segment = segmentFor(cellId);
+        synchronized (segment) {
+            return segment.get(cellId);
+        }
+    }
+
+    public void put(long cellId, V value) {
+        Segment<V> segment = segmentFor(cellId);
+        synchronized (segment) {
+            segment.put(cellId, value);
+        }
+    }
+
+    public void remove(long cellId) {
+        Segment<V> segment = segmentFor(cellId);
+        synchronized (segment) {
+            segment.remove(cellId);
+        }
+    }
+
+    public void clear() {
+        for (Segment<V> segment : segments) {
+            synchronized (segment) {
+                segment.clear();
+            }
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (Segment<V> segment : segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return size;
+    }
+
+    private Segment<V> segmentFor(long cellId) {
+        return segments[(int) ((cellId * 0x9E3779B97F4A7C15L) >>> 32) & segmentMask];
+    }
+
+    private static final class Segment<V> extends LinkedHashMap<Long, V> {
+
+        private final int capacity;
+
+        private Segment(int capacity) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, V> eldest) {
+            return size() > capacity;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package org.meteoapp.cache;
+
+import org.meteoapp.cache.event.CacheEvent;
+import org.meteoapp.cache.event.CacheEventBus;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+/**
+ * Node-local tier in front of the shared MongoDB collection. Upstream refreshes are published
+ * so other nodes update their copy instead of fetching the same cell again, and deletions are
+ * propagated as invalidations.
+ */
+@Component
+public class NearCacheReadingCache implements ReadingCache {
+
+    private final LatestReadingStore store;
+    private final SerializedResponseCache serializedCache;
+    private final CacheEventBus eventBus;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    @Autowired
+    public NearCacheReadingCache(LatestReadingStore store, SerializedResponseCache serializedCache, CacheEventBus eventBus) {
+        this.store = store;
+        this.serializedCache = serializedCache;
+        this.eventBus = eventBus;
+        eventBus.subscribe(this::onEvent);
+    }
+
+    @Override
+    public LatestReading get(long cellId) {
+        return store.get(cellId);
+    }
+
+    @Override
+    public void put(LatestReading reading) {
+        store.put(reading.cellId(), reading.temperature(), reading.timestampMillis());
+        // A body rendered for another reading would otherwise keep its old ETag until the TTL expires.
+        SerializedReading serialized = serializedCache.get(reading.cellId());
+        if (serialized != null && (serialized.timestampMillis() != reading.timestampMillis() || serialized.temperature() != reading.temperature())) {
+            serializedCache.remove(reading.cellId());
+        }
+    }
+
+    @Override
+    public void publish(LatestReading reading) {
+        put(reading);
+        eventBus.publish(CacheEvent.refresh(nodeId, reading.cellId(), reading.temperature(), reading.timestampMillis()));
+    }
+
+    @Override
+    public void invalidate(long cellId) {
+        evict(cellId);
+        eventBus.publish(CacheEvent.invalidate(nodeId, cellId));
+    }
+
+    @Override
+    public void clear() {
+        store.clear();
+        serializedCache.clear();
+    }
+
+    private void onEvent(CacheEvent event) {
+        if (nodeId.equals(event.origin())) {
+            return;
+        }
+        if (event.type() == CacheEvent.Type.REFRESH) {
+            store.put(event.cellId(), event.temperature(), event.timestampMillis());
+            serializedCache.remove(event.cellId());
+        } else {
+            evict(event.cellId());
+        }
+    }
+
+    private void evict(long cellId) {
+        store.remove(cellId);
+        serializedCache.remove(cellId);
+    }
+}
@@ -0,0 +1,14 @@
+package org.meteoapp.cache;
+
+public interface ReadingCache {
+
+    LatestReading get(long cellId);
+
+    void put(LatestReading reading);
+
+    void publish(LatestReading reading);
+
+    void invalidate(long cellId);
+
+    void clear();
+}
@@ -0,0 +1,8 @@
+package org.meteoapp.cache;
+
+public record SerializedReading(byte[] body, String etag, double temperature, long timestampMillis) {
+
+    public static String etagFor(long cellId, double temperature, long timestampMillis) {
+        return Long.toHexString(cellId) + "-" + Long.toHexString(timestampMillis) + "-" + Long.toHexString(Double.doubleToLongBits(temperature));
+    }
+}
@@ -0,0 +1,41 @@
+package org.meteoapp.cache;
+
+import org.meteoapp.config.MeteoProperties;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps the JSON body of the latest reading per cell so cache hits can be written to the
+ * response as-is instead of being mapped and serialized again. Bounded by evicting the least
+ * recently served cells, so the kept bodies follow the current hot set.
+ */
+@Component
+public class SerializedResponseCache {
+
+    private final LruCache<SerializedReading> entries;
+
+    @Autowired
+    public SerializedResponseCache(MeteoProperties properties) {
+        this(properties.getCache().getSerializedMaxEntries());
+    }
+
+    public SerializedResponseCache(int maxEntries) {
+        this.entries = new LruCache<>(maxEntries);
+    }
+
+    public SerializedReading get(long cellId) {
+        return entries.get(cellId);
+    }
+
+    public void put(long cellId, SerializedReading reading) {
+        entries.put(cellId, reading);
+    }
+
+    public void remove(long cellId) {
+        entries.remove(cellId);
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+}
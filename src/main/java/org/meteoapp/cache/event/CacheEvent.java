@@ -0,0 +1,31 @@
+package org.meteoapp.cache.event;
+
+public record CacheEvent(Type type, String origin, long cellId, double temperature, long timestampMillis) {
+
+    private static final String SEPARATOR = "|";
+
+    public enum Type {
+        REFRESH,
+        INVALIDATE
+    }
+
+    public static CacheEvent refresh(String origin, long cellId, double temperature, long timestampMillis) {
+        return new CacheEvent(Type.REFRESH, origin, cellId, temperature, timestampMillis);
+    }
+
+    public static CacheEvent invalidate(String origin, long cellId) {
+        return new CacheEvent(Type.INVALIDATE, origin, cellId, 0, 0);
+    }
+
+    public String encode() {
+        return type + SEPARATOR + origin + SEPARATOR + cellId + SEPARATOR + temperature + SEPARATOR + timestampMillis;
+    }
+
+    public static CacheEvent decode(String message) {
+        String[] parts = message.split("\\|");
+        if (parts.length != 5) {
+            throw new IllegalArgumentException("Malformed cache event: " + message);
+        }
+        return new CacheEvent(Type.valueOf(parts[0]), parts[1], Long.parseLong(parts[2]), Double.parseDouble(parts[3]), Long.parseLong(parts[4]));
+    }
+}
@@ -0,0 +1,10 @@
+package org.meteoapp.cache.event;
+
+import java.util.function.Consumer;
+
+public interface CacheEventBus {
+
+    void publish(CacheEvent event);
+
+    void subscribe(Consumer<CacheEvent> subscriber);
+}
@@ -0,0 +1,29 @@
+package org.meteoapp.cache.event;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Delivers cache events in-process. Used on a single node and in tests, where several caches
+ * can share one bus to stand in for a cluster.
+ */
+@Component
+@ConditionalOnProperty(name = "meteo.cache.events", havingValue = "local", matchIfMissing = true)
+public class LocalCacheEventBus implements CacheEventBus {
+
+    private final List<Consumer<CacheEvent>> subscribers = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(CacheEvent event) {
+        subscribers.forEach(subscriber -> subscriber.accept(event));
+    }
+
+    @Override
+    public void subscribe(Consumer<CacheEvent> subscriber) {
+        subscribers.add(subscriber);
+    }
+}
@@ -0,0 +1,70 @@
+package org.meteoapp.cli;
+
+import org.meteoapp.model.ExportFormat;
+import org.meteoapp.service.TemperatureExportService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+import java.io.FileOutputStream;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.logging.Logger;
+
+/**
+ * Runs a one-off export when started with {@code --export=<file>} and exits.
+ * Optional {@code --export-format}, {@code --export-after}, {@code --export-from}, {@code --export-to}
+ * and {@code --export-limit} mirror the parameters of {@code GET /temperature/export}.
+ */
+@Component
+public class ExportCommand implements ApplicationRunner {
+
+    private static final Logger logger = Logger.getLogger(ExportCommand.class.getName());
+
+    private final TemperatureExportService exportService;
+    private final ConfigurableApplicationContext context;
+
+    @Autowired
+    public ExportCommand(@Lazy TemperatureExportService exportService, ConfigurableApplicationContext context) {
+        this.exportService = exportService;
+        this.context = context;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        if (!args.containsOption("export")) {
+            return;
+        }
+        String target = option(args, "export");
+        if (target == null) {
+            throw new IllegalArgumentException("--export requires a target file.");
+        }
+        ExportFormat format = ExportFormat.parse(option(args, "export-format", "ndjson"));
+        String after = option(args, "export-after");
+        String from = option(args, "export-from");
+        String to = option(args, "export-to");
+        int limit = Integer.parseInt(option(args, "export-limit", "0"));
+
+        long count;
+        try (OutputStream output = new FileOutputStream(target)) {
+            count = exportService.export(format, after, from == null ? null : LocalDateTime.parse(from),
+                    to == null ? null : LocalDateTime.parse(to), limit, output);
+        }
+        logger.info(String.format("Exported %d records to %s", count, target));
+        System.exit(SpringApplication.exit(context, () -> 0));
+    }
+
+    private static String option(ApplicationArguments args, String name) {
+        return option(args, name, null);
+    }
+
+    private static String option(ApplicationArguments args, String name, String defaultValue) {
+        List<String> values = args.getOptionValues(name);
+        return values == null || values.isEmpty() ? defaultValue : values.get(0);
+    }
+}
@@ -0,0 +1,10 @@
+package org.meteoapp.cluster;
+
+import java.util.List;
+
+public interface ClusterMembership {
+
+    ClusterNode self();
+
+    List<ClusterNode> members();
+}
@@ -0,0 +1,4 @@
+package org.meteoapp.cluster;
+
+public record ClusterNode(String id, String baseUrl) {
+}
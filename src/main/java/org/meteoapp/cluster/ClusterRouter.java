@@ -0,0 +1,296 @@
+package org.meteoapp.cluster;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.meteoapp.cache.CellId;
+import org.meteoapp.config.MeteoProperties;
+import org.meteoapp.model.Coordinate;
+import org.meteoapp.model.TemperatureData;
+import org.meteoapp.model.response.CellTemperature;
+import org.meteoapp.model.response.TemperatureResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+
+/**
+ * Makes sure each cell is refreshed by a single node. The owner fetches, concurrent local callers
+ * share one in-flight fetch, and other nodes forward the request to the owner.
+ */
+@Component
+public class ClusterRouter {
+
+    public static final String FORWARDED_HEADER = "X-Meteo-Forwarded";
+    public static final String PEER_TOKEN_HEADER = "X-Meteo-Peer-Token";
+
+    private static final Logger logger = Logger.getLogger(ClusterRouter.class.getName());
+
+    private final ClusterMembership membership;
+    private final RestTemplate restTemplate;
+    private final Clock clock;
+    private final int virtualNodes;
+    private final byte[] secret;
+    private final ConcurrentHashMap<Long, CompletableFuture<Optional<TemperatureData>>> inFlight = new ConcurrentHashMap<>();
+
+    private volatile RingSnapshot snapshot;
+
+    @Autowired
+    public ClusterRouter(ClusterMembership membership, RestTemplate restTemplate, Clock clock, MeteoProperties properties) {
+        this(membership, restTemplate, clock, properties.getCluster().getVirtualNodes(), properties.getCluster().getSecret());
+    }
+
+    public ClusterRouter(ClusterMembership membership, RestTemplate restTemplate, Clock clock, int virtualNodes) {
+        this(membership, restTemplate, clock, virtualNodes, "");
+    }
+
+    public ClusterRouter(ClusterMembership membership, RestTemplate restTemplate, Clock clock, int virtualNodes, String secret) {
+        this.membership = membership;
+        this.restTemplate = restTemplate;
+        this.clock = clock;
+        this.virtualNodes = virtualNodes;
+        this.secret = secret == null ? new byte[0] : secret.getBytes(StandardCharsets.UTF_8);
+        if (this.secret.length == 0 && membership.members().size() > 1) {
+            logger.warning("meteo.cluster.secret is not set, forwarded requests are rate limited like client requests and the forwarding header is trusted from anyone");
+        }
+    }
+
+    public ClusterNode ownerOf(long cellId) {
+        List<ClusterNode> members = membership.members();
+        RingSnapshot current = snapshot;
+        if (current == null || current.members() != members) {
+            current = new RingSnapshot(members, new ConsistentHashRing(members, virtualNodes));
+            snapshot = current;
+        }
+        return current.ring().ownerOf(cellId);
+    }
+
+    public boolean isOwner(long cellId) {
+        return ownerOf(cellId).id().equals(membership.self().id());
+    }
+
+    public boolean isSelf(ClusterNode node) {
+        return node.id().equals(membership.self().id());
+    }
+
+    /**
+     * Groups cells by the node that should refresh them. Cells this node refreshes itself are keyed by
+     * {@link ClusterMembership#self()}: its own cells, those of owners without a base URL, and every
+     * cell of a request that was itself forwarded.
+     */
+    public Map<ClusterNode, List<Coordinate>> groupByOwner(List<Coordinate> coordinates) {
+        ClusterNode self = membership.self();
+        boolean forwarded = isForwardedRequest();
+        Map<ClusterNode, List<Coordinate>> groups = new LinkedHashMap<>();
+        for (Coordinate coordinate : coordinates) {
+            ClusterNode owner = forwarded ? self : ownerOf(CellId.of(coordinate.latitude(), coordinate.longitude()));
+            if (isSelf(owner) || owner.baseUrl() == null) {
+                owner = self;
+            }
+            groups.computeIfAbsent(owner, node -> new ArrayList<>()).add(coordinate);
+        }
+        return groups;
+    }
+
+    /**
+     * Asks the owner for many of its cells in one request. Returns nothing when the owner is unreachable
+     * or sheds the request, which leaves those cells empty instead of fetching them here.
+     */
+    public List<CellTemperature> forwardAll(ClusterNode owner, List<Coordinate> coordinates) {
+        try {
+            CellTemperature[] cells = restTemplate.exchange(owner.baseUrl() + "/temperature/area/cells", HttpMethod.POST,
+                    new HttpEntity<>(coordinates, peerHeaders()), CellTemperature[].class).getBody();
+            return cells == null ? List.of() : Arrays.asList(cells);
+        } catch (RestClientException e) {
+            logger.warning("Owner " + owner.id() + " did not return " + coordinates.size() + " cells: " + e.getMessage());
+            return List.of();
+        }
+    }
+
+    public Optional<TemperatureData> refresh(long cellId, double latitude, double longitude, Supplier<Optional<TemperatureData>> fetch) {
+        ClusterNode owner = ownerOf(cellId);
+        if (owner.id().equals(membership.self().id()) || owner.baseUrl() == null || isForwardedRequest()) {
+            return singleFlight(cellId, fetch);
+        }
+
+        try {
+            return forward(owner, latitude, longitude);
+        } catch (RestClientException e) {
+            if (e instanceof HttpStatusCodeException status && isShed(status)) {
+                throw new OwnerBusyException("Owner " + owner.id() + " is overloaded, retry later.", retryAfterSeconds(status));
+            }
+            logger.warning("Owner " + owner.id() + " unavailable, refreshing locally: " + e.getMessage());
+            return singleFlight(cellId, fetch);
+        }
+    }
+
+    /**
+     * Batch form of the per-cell single flight for cells this node refreshes. Claims every cell no one
+     * is fetching yet and loads those with one call, then waits for the others on the fetches already
+     * running, so grids and point requests for the same cell share one upstream call. A cell whose
+     * shared fetch fails is left out of the result.
+     */
+    public List<TemperatureData> refreshAll(List<Coordinate> coordinates, Function<List<Coordinate>, List<TemperatureData>> fetch) {
+        Map<Long, CompletableFuture<Optional<TemperatureData>>> claimed = new HashMap<>();
+        List<Coordinate> claimedCoordinates = new ArrayList<>();
+        List<CompletableFuture<Optional<TemperatureData>>> running = new ArrayList<>();
+        for (Coordinate coordinate : coordinates) {
+            long cellId = CellId.of(coordinate.latitude(), coordinate.longitude());
+            CompletableFuture<Optional<TemperatureData>> created = new CompletableFuture<>();
+            CompletableFuture<Optional<TemperatureData>> existing = inFlight.putIfAbsent(cellId, created);
+            if (existing != null) {
+                running.add(existing);
+            } else {
+                claimed.put(cellId, created);
+                claimedCoordinates.add(coordinate);
+            }
+        }
+
+        List<TemperatureData> results = new ArrayList<>();
+        try {
+            if (!claimedCoordinates.isEmpty()) {
+                for (TemperatureData data : fetch.apply(claimedCoordinates)) {
+                    CompletableFuture<Optional<TemperatureData>> future = claimed.get(CellId.of(data.getLatitude(), data.getLongitude()));
+                    if (future != null) {
+                        future.complete(Optional.of(data));
+                    }
+                    results.add(data);
+                }
+            }
+        } catch (RuntimeException e) {
+            claimed.values().forEach(future -> future.completeExceptionally(e));
+            throw e;
+        } finally {
+            claimed.forEach((cellId, future) -> {
+                future.complete(Optional.empty());
+                inFlight.remove(cellId, future);
+            });
+        }
+
+        for (CompletableFuture<Optional<TemperatureData>> future : running) {
+            try {
+                future.join().ifPresent(results::add);
+            } catch (CompletionException e) {
+                // The caller that owns this fetch reports the failure, the cell just stays empty here.
+            }
+        }
+        return results;
+    }
+
+    private Optional<TemperatureData> singleFlight(long cellId, Supplier<Optional<TemperatureData>> fetch) {
+        CompletableFuture<Optional<TemperatureData>> created = new CompletableFuture<>();
+        CompletableFuture<Optional<TemperatureData>> existing = inFlight.putIfAbsent(cellId, created);
+        if (existing != null) {
+            return existing.join();
+        }
+        try {
+            Optional<TemperatureData> result = fetch.get();
+            created.complete(result);
+            return result;
+        } catch (RuntimeException e) {
+            created.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(cellId, created);
+        }
+    }
+
+    private Optional<TemperatureData> forward(ClusterNode owner, double latitude, double longitude) {
+        String url = String.format("%s/temperature?latitude=%s&longitude=%s", owner.baseUrl(), latitude, longitude);
+        ResponseEntity<TemperatureResponse> response;
+        try {
+            response = restTemplate.exchange(url, HttpMethod.GET, new HttpEntity<>(peerHeaders()), TemperatureResponse.class);
+        } catch (HttpClientErrorException.NotFound e) {
+            return Optional.empty();
+        }
+        TemperatureResponse body = response.getBody();
+        if (body == null || body.getCurrentWeather() == null) {
+            return Optional.empty();
+        }
+
+        long lastModified = response.getHeaders().getLastModified();
+        TemperatureData data = new TemperatureData();
+        data.setLatitude(latitude);
+        data.setLongitude(longitude);
+        data.setTemperature(body.getCurrentWeather().getTemperature());
+        data.setTimestamp(lastModified > 0
+                ? LocalDateTime.ofInstant(Instant.ofEpochMilli(lastModified), clock.getZone())
+                : LocalDateTime.now(clock));
+        return Optional.of(data);
+    }
+
+    private HttpHeaders peerHeaders() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(FORWARDED_HEADER, membership.self().id());
+        if (secret.length > 0) {
+            headers.set(PEER_TOKEN_HEADER, new String(secret, StandardCharsets.UTF_8));
+        }
+        return headers;
+    }
+
+    private static boolean isShed(HttpStatusCodeException e) {
+        return e.getStatusCode().isSameCodeAs(HttpStatus.SERVICE_UNAVAILABLE) || e.getStatusCode().isSameCodeAs(HttpStatus.TOO_MANY_REQUESTS);
+    }
+
+    private static long retryAfterSeconds(HttpStatusCodeException e) {
+        String retryAfter = e.getResponseHeaders() == null ? null : e.getResponseHeaders().getFirst(HttpHeaders.RETRY_AFTER);
+        try {
+            return retryAfter == null ? 1 : Math.max(1, Long.parseLong(retryAfter.trim()));
+        } catch (NumberFormatException ignored) {
+            return 1;
+        }
+    }
+
+    /**
+     * Whether the request was forwarded by a peer that proved it knows the cluster secret.
+     */
+    public boolean isVerifiedForward(HttpServletRequest request) {
+        String token = request.getHeader(PEER_TOKEN_HEADER);
+        return secret.length > 0 && request.getHeader(FORWARDED_HEADER) != null && token != null
+                && MessageDigest.isEqual(secret, token.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Whether the request came from a peer, so it must be answered here rather than forwarded again.
+     * With a secret configured the peer has to prove it; otherwise any client could send the header
+     * to make a non-owner fetch upstream. Without one the header is all there is to go on.
+     */
+    public boolean isForwarded(HttpServletRequest request) {
+        return secret.length > 0 ? isVerifiedForward(request) : request.getHeader(FORWARDED_HEADER) != null;
+    }
+
+    private boolean isForwardedRequest() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        return attributes instanceof ServletRequestAttributes servletAttributes && isForwarded(servletAttributes.getRequest());
+    }
+
+    private record RingSnapshot(List<ClusterNode> members, ConsistentHashRing ring) {
+    }
+}
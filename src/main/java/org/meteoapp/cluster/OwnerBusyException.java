@@ -0,0 +1,19 @@
+package org.meteoapp.cluster;
+
+/**
+ * The owner of a cell shed a forwarded refresh. Callers serve what they already have or pass the
+ * overload on to the client; fetching the cell themselves would defeat the owner's single-flight.
+ */
+public class OwnerBusyException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public OwnerBusyException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
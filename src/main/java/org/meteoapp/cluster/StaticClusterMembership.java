@@ -0,0 +1,65 @@
+package org.meteoapp.cluster;
+
+import org.meteoapp.config.MeteoProperties;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Membership read from configuration as a list of {@code id=baseUrl} pairs. With no nodes
+ * configured the instance is a cluster of one and owns every cell.
+ */
+@Component
+public class StaticClusterMembership implements ClusterMembership {
+
+    private final ClusterNode self;
+    private volatile List<ClusterNode> members;
+
+    @Autowired
+    public StaticClusterMembership(MeteoProperties properties) {
+        this(properties.getCluster().getNodeId(), parse(properties.getCluster().getNodes()));
+    }
+
+    public StaticClusterMembership(String nodeId, List<ClusterNode> members) {
+        this.self = members.stream()
+                .filter(node -> node.id().equals(nodeId))
+                .findFirst()
+                .orElse(new ClusterNode(nodeId, null));
+        setMembers(members);
+    }
+
+    @Override
+    public ClusterNode self() {
+        return self;
+    }
+
+    @Override
+    public List<ClusterNode> members() {
+        return members;
+    }
+
+    public void setMembers(List<ClusterNode> members) {
+        List<ClusterNode> updated = new ArrayList<>(members);
+        if (updated.stream().noneMatch(node -> node.id().equals(self.id()))) {
+            updated.add(self);
+        }
+        this.members = List.copyOf(updated);
+    }
+
+    private static List<ClusterNode> parse(String nodes) {
+        List<ClusterNode> parsed = new ArrayList<>();
+        for (String entry : nodes.split(",")) {
+            if (entry.isBlank()) {
+                continue;
+            }
+            String[] parts = entry.trim().split("=", 2);
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Cluster nodes must be configured as id=baseUrl pairs: " + entry);
+            }
+            parsed.add(new ClusterNode(parts[0].trim(), parts[1].trim()));
+        }
+        return parsed;
+    }
+}
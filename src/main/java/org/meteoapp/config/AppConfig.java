@@ -1,13 +1,30 @@
 package org.meteoapp.config;
 
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
+import java.io.IOException;
+import java.net.HttpURLConnection;
+
 @Configuration
+@EnableConfigurationProperties(MeteoProperties.class)
 public class AppConfig {
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public RestTemplate restTemplate(MeteoProperties properties) {
+        // The JDK keep-alive cache reads this once, so it only applies if set before the first connection.
+        if (System.getProperty("http.maxConnections") == null) {
+            System.setProperty("http.maxConnections", Integer.toString(properties.getUpstream().getMaxConnections()));
+        }
+        return new RestTemplate(new SimpleClientHttpRequestFactory() {
+            @Override
+            protected void prepareConnection(HttpURLConnection connection, String httpMethod) throws IOException {
+                super.prepareConnection(connection, httpMethod);
+                connection.setConnectTimeout((int) properties.getUpstream().getConnectTimeout().toMillis());
+                connection.setReadTimeout((int) properties.getUpstream().getReadTimeout().toMillis());
+            }
+        });
     }
 }
@@ -0,0 +1,210 @@
+package org.meteoapp.config;
+
+import lombok.Data;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * Typed tuning surface for the {@code meteo.*} keys. Components read the {@link #RELOADABLE_KEYS}
+ * through this instance on every use, so {@link TuningEndpoint} can change them without a restart;
+ * sizes, partitions and pool settings are only read when their component is created. The reloadable
+ * fields are volatile because {@link #reload} runs on the actuator thread while requests read them.
+ */
+@Data
+@ConfigurationProperties(prefix = "meteo")
+public class MeteoProperties implements InitializingBean {
+
+    public static final Set<String> RELOADABLE_KEYS = Set.of(
+            "meteo.cache.ttl",
+            "meteo.upstream.connect-timeout", "meteo.upstream.read-timeout",
+            "meteo.ratelimit.enabled", "meteo.ratelimit.requests-per-second", "meteo.ratelimit.burst",
+            "meteo.shedding.enabled", "meteo.shedding.max-concurrent", "meteo.shedding.upstream-share",
+            "meteo.shedding.latency-threshold", "meteo.shedding.latency-window", "meteo.shedding.retry-after",
+            "meteo.area.max-cells", "meteo.area.max-upstream-cells", "meteo.area.batch-size");
+
+    private Cache cache = new Cache();
+    private Store store = new Store();
+    private Forecast forecast = new Forecast();
+    private Upstream upstream = new Upstream();
+    private Kafka kafka = new Kafka();
+    private RateLimit ratelimit = new RateLimit();
+    private Shedding shedding = new Shedding();
+    private Area area = new Area();
+    private Cluster cluster = new Cluster();
+    private Warmup warmup = new Warmup();
+    private Export export = new Export();
+    private Ingest ingest = new Ingest();
+
+    @Override
+    public void afterPropertiesSet() {
+        validate();
+    }
+
+    public void validate() {
+        requirePositive("meteo.cache.ttl", cache.ttl);
+        requirePositive("meteo.upstream.connect-timeout", upstream.connectTimeout);
+        requirePositive("meteo.upstream.read-timeout", upstream.readTimeout);
+        if (ratelimit.requestsPerSecond <= 0 || ratelimit.burst <= 0) {
+            throw new IllegalArgumentException("Rate limit and burst must be positive.");
+        }
+        if (shedding.maxConcurrent <= 0 || shedding.upstreamShare <= 0 || shedding.upstreamShare > 1) {
+            throw new IllegalArgumentException("Shedding concurrency must be positive and upstream-share in (0, 1].");
+        }
+        if (area.maxCells <= 0 || area.maxUpstreamCells < 0 || area.batchSize <= 0) {
+            throw new IllegalArgumentException("Area limits must be positive.");
+        }
+    }
+
+    /**
+     * Copies the reloadable values from a freshly bound instance; everything else keeps its startup value.
+     */
+    public void reload(MeteoProperties source) {
+        cache.setTtl(source.cache.ttl);
+        upstream.setConnectTimeout(source.upstream.connectTimeout);
+        upstream.setReadTimeout(source.upstream.readTimeout);
+        ratelimit.setEnabled(source.ratelimit.enabled);
+        ratelimit.setRequestsPerSecond(source.ratelimit.requestsPerSecond);
+        ratelimit.setBurst(source.ratelimit.burst);
+        shedding.setEnabled(source.shedding.enabled);
+        shedding.setMaxConcurrent(source.shedding.maxConcurrent);
+        shedding.setUpstreamShare(source.shedding.upstreamShare);
+        shedding.setLatencyThreshold(source.shedding.latencyThreshold);
+        shedding.setLatencyWindow(source.shedding.latencyWindow);
+        shedding.setRetryAfter(source.shedding.retryAfter);
+        area.setMaxCells(source.area.maxCells);
+        area.setMaxUpstreamCells(source.area.maxUpstreamCells);
+        area.setBatchSize(source.area.batchSize);
+    }
+
+    private static void requirePositive(String name, Duration value) {
+        if (value == null || value.isNegative() || value.isZero()) {
+            throw new IllegalArgumentException(name + " must be a positive duration.");
+        }
+    }
+
+    @Data
+    public static class Cache {
+        /** Age after which a reading is refreshed from upstream. */
+        private volatile Duration ttl = Duration.ofMinutes(1);
+        private boolean serializedResponses = false;
+        private int serializedMaxEntries = 100_000;
+        /** "local" for a single node, "kafka" to share refreshes and invalidations; read by bean conditions. */
+        private String events = "local";
+        private String eventsTopic = "temperature-cache-events";
+    }
+
+    @Data
+    public static class Store {
+        private int initialCapacity = 65_536;
+        private int concurrency = 64;
+    }
+
+    @Data
+    public static class Forecast {
+        private boolean currentFromHourly = false;
+        private Duration refreshInterval = Duration.ofHours(1);
+        private int days = 2;
+        private int maxEntries = 50_000;
+    }
+
+    @Data
+    public static class Upstream {
+        private String baseUrl = "https://api.open-meteo.com/v1/forecast";
+        private volatile Duration connectTimeout = Duration.ofSeconds(2);
+        private volatile Duration readTimeout = Duration.ofSeconds(10);
+        /** Idle keep-alive connections kept per upstream host. */
+        private int maxConnections = 20;
+    }
+
+    @Data
+    public static class Kafka {
+        private String readingTopic = "my-Topic";
+        private String updateTopic = "temperature-update";
+        private int partitions = 1;
+        private short replicationFactor = 1;
+        private int batchSize = 16_384;
+        private Duration linger = Duration.ofMillis(5);
+        private String compressionType = "none";
+    }
+
+    @Data
+    public static class RateLimit {
+        private volatile boolean enabled = true;
+        private volatile double requestsPerSecond = 50;
+        private volatile int burst = 100;
+        private String apiKeyHeader = "X-API-Key";
+        /** Keys that get a bucket of their own; any other header value is limited by client IP. */
+        private Set<String> apiKeys = Set.of();
+        private int stripes = 64;
+        private int maxClients = 100_000;
+    }
+
+    @Data
+    public static class Shedding {
+        private volatile boolean enabled = true;
+        private volatile int maxConcurrent = 200;
+        private volatile double upstreamShare = 0.5;
+        private volatile Duration latencyThreshold = Duration.ofSeconds(2);
+        private volatile Duration latencyWindow = Duration.ofSeconds(5);
+        private volatile Duration retryAfter = Duration.ofSeconds(1);
+    }
+
+    @Data
+    public static class Area {
+        private volatile int maxCells = 10_000;
+        private volatile int maxUpstreamCells = 1_000;
+        private volatile int batchSize = 100;
+        private int parallelism = 4;
+    }
+
+    @Data
+    public static class Cluster {
+        private String nodeId = "local";
+        /** Comma-separated {@code id=baseUrl} pairs, empty for a single node. */
+        private String nodes = "";
+        private int virtualNodes = 128;
+        /** Shared token peers send with forwarded requests; only verified forwards skip the rate limit. */
+        private String secret = "";
+    }
+
+    @Data
+    public static class Warmup {
+        private boolean enabled = false;
+        private String coordinates = "";
+        private String coordinatesFile = "";
+        private int topN = 0;
+        private int readBatchSize = 200;
+        private int readParallelism = 4;
+        private int upstreamBatchSize = 50;
+        private double upstreamRequestsPerSecond = 2;
+        private Duration maxDuration = Duration.ofMinutes(2);
+    }
+
+    @Data
+    public static class Export {
+        private int batchSize = 1_000;
+        private int bufferSize = 65_536;
+    }
+
+    @Data
+    public static class Ingest {
+        private int batchSize = 1_000;
+        private Duration flushInterval = Duration.ofSeconds(1);
+        private int writerThreads = 2;
+        private int maxRequestReadings = 100_000;
+        /** How far ahead of this node's clock a reading may be stamped before it is rejected. */
+        private Duration maxClockSkew = Duration.ofSeconds(30);
+        private String topic = "temperature-ingest";
+        private String groupId = "meteo-ingest";
+        /** Read by the listener's bean condition. */
+        private Listener kafka = new Listener();
+    }
+
+    @Data
+    public static class Listener {
+        private boolean enabled = false;
+    }
+}
@@ -0,0 +1,117 @@
+package org.meteoapp.config;
+
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Logger;
+
+/**
+ * Actuator endpoint ({@code /actuator/tuning}) for changing the reloadable {@code meteo.*} values
+ * under live load. Overrides are kept in a property source ahead of every other one, bound and
+ * validated into a fresh {@link MeteoProperties}, and only then copied onto the live instance.
+ * Responses only show the reloadable keys, never the rest of the configuration such as the cluster secret.
+ * Not exposed over HTTP unless added to {@code management.endpoints.web.exposure.include}.
+ */
+@Component
+@Endpoint(id = "tuning")
+public class TuningEndpoint {
+
+    static final String OVERRIDES_SOURCE = "meteoTuningOverrides";
+
+    private static final Logger logger = Logger.getLogger(TuningEndpoint.class.getName());
+
+    private final ConfigurableEnvironment environment;
+    private final MeteoProperties properties;
+    private final Map<String, Object> overrides = new ConcurrentHashMap<>();
+
+    public TuningEndpoint(ConfigurableEnvironment environment, MeteoProperties properties) {
+        this.environment = environment;
+        this.properties = properties;
+        environment.getPropertySources().addFirst(new MapPropertySource(OVERRIDES_SOURCE, overrides));
+    }
+
+    @ReadOperation
+    public Map<String, Object> tuning() {
+        Map<String, Object> tuning = new LinkedHashMap<>();
+        tuning.put("overrides", new TreeMap<>(overrides));
+        tuning.put("current", current());
+        return tuning;
+    }
+
+    @WriteOperation
+    public synchronized Map<String, Object> update(@Selector String name, String value) {
+        if (!MeteoProperties.RELOADABLE_KEYS.contains(name)) {
+            throw new InvalidEndpointRequestException(name + " cannot be changed at runtime.", "Not reloadable");
+        }
+        Object previous = overrides.put(name, value);
+        try {
+            apply();
+        } catch (RuntimeException e) {
+            if (previous == null) {
+                overrides.remove(name);
+            } else {
+                overrides.put(name, previous);
+            }
+            throw new InvalidEndpointRequestException("Invalid value for " + name + ": " + e.getMessage(), "Invalid value");
+        }
+        logger.info("Tuning override applied: " + name + "=" + value);
+        return current();
+    }
+
+    @DeleteOperation
+    public synchronized Map<String, Object> reset(@Selector String name) {
+        if (overrides.remove(name) != null) {
+            apply();
+            logger.info("Tuning override removed: " + name);
+        }
+        return current();
+    }
+
+    private Map<String, Object> current() {
+        BeanWrapper wrapper = new BeanWrapperImpl(properties);
+        Map<String, Object> current = new TreeMap<>();
+        for (String key : MeteoProperties.RELOADABLE_KEYS) {
+            Object value = wrapper.getPropertyValue(propertyPath(key));
+            current.put(key, value instanceof Duration duration ? duration.toString() : value);
+        }
+        return current;
+    }
+
+    /**
+     * Maps a key such as {@code meteo.shedding.upstream-share} to its bean path {@code shedding.upstreamShare}.
+     */
+    private static String propertyPath(String key) {
+        StringBuilder path = new StringBuilder();
+        boolean upper = false;
+        for (char c : key.substring("meteo.".length()).toCharArray()) {
+            if (c == '-') {
+                upper = true;
+            } else {
+                path.append(upper ? Character.toUpperCase(c) : c);
+                upper = false;
+            }
+        }
+        return path.toString();
+    }
+
+    private void apply() {
+        MeteoProperties candidate = Binder.get(environment).bindOrCreate("meteo", MeteoProperties.class);
+        candidate.validate();
+        properties.reload(candidate);
+    }
+}
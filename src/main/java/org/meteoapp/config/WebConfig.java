@@ -0,0 +1,23 @@
+package org.meteoapp.config;
+
+import org.meteoapp.throttle.ThrottlingInterceptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    private final ThrottlingInterceptor throttlingInterceptor;
+
+    @Autowired
+    public WebConfig(ThrottlingInterceptor throttlingInterceptor) {
+        this.throttlingInterceptor = throttlingInterceptor;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(throttlingInterceptor).addPathPatterns("/temperature", "/temperature/**", "/forecast");
+    }
+}
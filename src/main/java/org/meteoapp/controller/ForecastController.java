@@ -0,0 +1,57 @@
+package org.meteoapp.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import org.meteoapp.model.response.ForecastResponse;
+import org.meteoapp.service.ForecastService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Optional;
+
+@RestController
+@RequestMapping("/forecast")
+public class ForecastController {
+
+    private final ForecastService forecastService;
+
+    @Autowired
+    public ForecastController(ForecastService forecastService) {
+        this.forecastService = forecastService;
+    }
+
+    @Operation(summary = "Get hourly forecast by coordinates", description = "Returns current conditions and the hourly forecast for a given latitude and longitude as per-variable arrays.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Forecast retrieved successfully"),
+            @ApiResponse(responseCode = "404", description = "Forecast not available"),
+            @ApiResponse(responseCode = "400", description = "Invalid latitude, longitude or hours values"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @GetMapping
+    public ResponseEntity<?> getForecast(
+            @Parameter(description = "Latitude of the location", required = true) @RequestParam double latitude,
+            @Parameter(description = "Longitude of the location", required = true) @RequestParam double longitude,
+            @Parameter(description = "Number of hourly steps to return") @RequestParam(defaultValue = "24") int hours) {
+        validateCoordinates(latitude, longitude);
+        Optional<ForecastResponse> forecast = forecastService.getForecastResponse(latitude, longitude, hours);
+
+        if (forecast.isPresent()) {
+            return ResponseEntity.ok(forecast.get());
+        } else {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Forecast not available for the given coordinates.");
+        }
+    }
+
+    private void validateCoordinates(double latitude, double longitude) {
+        if (latitude < -90 || latitude > 90 || longitude < -180 || longitude > 180) {
+            throw new IllegalArgumentException("Invalid latitude or longitude values.");
+        }
+    }
+}
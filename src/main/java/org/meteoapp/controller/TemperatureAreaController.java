@@ -0,0 +1,84 @@
+package org.meteoapp.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.servlet.http.HttpServletRequest;
+import org.meteoapp.cluster.ClusterRouter;
+import org.meteoapp.model.Coordinate;
+import org.meteoapp.model.response.CellTemperature;
+import org.meteoapp.model.response.TemperatureGridResponse;
+import org.meteoapp.service.TemperatureGridService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/temperature")
+public class TemperatureAreaController {
+
+    private final TemperatureGridService gridService;
+    private final ClusterRouter clusterRouter;
+
+    @Autowired
+    public TemperatureAreaController(TemperatureGridService gridService, ClusterRouter clusterRouter) {
+        this.gridService = gridService;
+        this.clusterRouter = clusterRouter;
+    }
+
+    @Operation(summary = "Get temperature grid for a bounding box",
+            description = "Returns temperatures for every grid point in the bounding box, row-major from the south-west corner. "
+                    + "Request application/octet-stream for a little-endian binary grid.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Temperature grid retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid bounding box or resolution"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @GetMapping(value = "/area", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<TemperatureGridResponse> getTemperatureArea(
+            @Parameter(description = "Southern edge of the bounding box", required = true) @RequestParam double minLatitude,
+            @Parameter(description = "Western edge of the bounding box", required = true) @RequestParam double minLongitude,
+            @Parameter(description = "Northern edge of the bounding box", required = true) @RequestParam double maxLatitude,
+            @Parameter(description = "Eastern edge of the bounding box", required = true) @RequestParam double maxLongitude,
+            @Parameter(description = "Grid spacing in degrees", required = true) @RequestParam double resolution) {
+        return ResponseEntity.ok(gridService.getTemperatureGrid(minLatitude, minLongitude, maxLatitude, maxLongitude, resolution));
+    }
+
+    @GetMapping(value = "/area", produces = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public ResponseEntity<byte[]> getTemperatureAreaBinary(
+            @RequestParam double minLatitude,
+            @RequestParam double minLongitude,
+            @RequestParam double maxLatitude,
+            @RequestParam double maxLongitude,
+            @RequestParam double resolution) {
+        TemperatureGridResponse grid = gridService.getTemperatureGrid(minLatitude, minLongitude, maxLatitude, maxLongitude, resolution);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .body(gridService.toBinary(grid));
+    }
+
+    @Operation(summary = "Get temperatures for cells owned by this node",
+            description = "Used by peer nodes to fill the cells of a grid this node owns in one request. Cells that could not be resolved are left out.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Temperatures retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid coordinates or too many cells"),
+            @ApiResponse(responseCode = "403", description = "Request did not come from a peer node")
+    })
+    @PostMapping(value = "/area/cells", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<CellTemperature>> getCellTemperatures(@RequestBody List<Coordinate> coordinates, HttpServletRequest request) {
+        if (!clusterRouter.isForwarded(request)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        return ResponseEntity.ok(gridService.getTemperatures(coordinates));
+    }
+}
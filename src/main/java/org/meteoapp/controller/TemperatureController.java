@@ -4,32 +4,44 @@ import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import org.meteoapp.cache.CellId;
+import org.meteoapp.cache.SerializedReading;
+import org.meteoapp.config.MeteoProperties;
 import org.meteoapp.kafka.producer.KafkaProducer;
 import org.meteoapp.model.response.TemperatureResponse;
 import org.meteoapp.service.TemperatureService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.time.Duration;
 import java.util.Optional;
 
 @RestController
 @RequestMapping("/temperature")
 public class TemperatureController {
 
+    private static final String NOT_FOUND_MESSAGE = "Temperature data not found for the given coordinates.";
+
     private final TemperatureService temperatureService;
     private final KafkaProducer kafkaProducer;
+    private final boolean serializedResponses;
 
     @Autowired
-    public TemperatureController(TemperatureService temperatureService, KafkaProducer kafkaProducer) {
+    public TemperatureController(TemperatureService temperatureService, KafkaProducer kafkaProducer, MeteoProperties properties) {
         this.temperatureService = temperatureService;
         this.kafkaProducer = kafkaProducer;
+        this.serializedResponses = properties.getCache().isSerializedResponses();
     }
 
     @Operation(summary = "Get temperature by coordinates", description = "Fetches temperature data for a given latitude and longitude.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Temperature data retrieved successfully"),
+            @ApiResponse(responseCode = "304", description = "Temperature data not modified since the given ETag or date"),
             @ApiResponse(responseCode = "404", description = "Temperature data not found"),
             @ApiResponse(responseCode = "400", description = "Invalid latitude or longitude values"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
@@ -37,17 +49,62 @@ public class TemperatureController {
     @GetMapping
     public ResponseEntity<?> getTemperature(
             @Parameter(description = "Latitude of the location", required = true) @RequestParam double latitude,
-            @Parameter(description = "Longitude of the location", required = true) @RequestParam double longitude) {
+            @Parameter(description = "Longitude of the location", required = true) @RequestParam double longitude,
+            WebRequest webRequest) {
         validateCoordinates(latitude, longitude);
+        if (serializedResponses) {
+            return getSerializedTemperature(latitude, longitude, webRequest);
+        }
+
         Optional<TemperatureResponse> optionalData = temperatureService.getTemperature(latitude, longitude);
 
         if (optionalData.isPresent()) {
             TemperatureResponse data = optionalData.get();
             kafkaProducer.sendMessage(String.format("Lat: %s, Lon: %s, Temp: %s", latitude, longitude, data.getCurrentWeather().getTemperature()));
-            return ResponseEntity.ok(data);
+            if (data.getLastModified() == null) {
+                return ResponseEntity.ok(data);
+            }
+            long lastModified = data.getLastModified().toEpochMilli();
+            String etag = SerializedReading.etagFor(CellId.of(latitude, longitude), data.getCurrentWeather().getTemperature(), lastModified);
+            return cacheableResponse(webRequest, etag, lastModified, null, data);
         } else {
-            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Temperature data not found for the given coordinates.");
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(NOT_FOUND_MESSAGE);
+        }
+    }
+
+    private ResponseEntity<?> getSerializedTemperature(double latitude, double longitude, WebRequest webRequest) {
+        Optional<SerializedReading> optionalReading = temperatureService.getSerializedTemperature(latitude, longitude);
+        if (optionalReading.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(NOT_FOUND_MESSAGE);
+        }
+
+        SerializedReading reading = optionalReading.get();
+        kafkaProducer.sendMessage(String.format("Lat: %s, Lon: %s, Temp: %s", latitude, longitude, reading.temperature()));
+        return cacheableResponse(webRequest, reading.etag(), reading.timestampMillis(), MediaType.APPLICATION_JSON, reading.body());
+    }
+
+    private ResponseEntity<?> cacheableResponse(WebRequest webRequest, String etag, long lastModified, MediaType contentType, Object body) {
+        Duration remaining = temperatureService.getRemainingFreshness(lastModified);
+        CacheControl cacheControl = remaining.isZero()
+                ? CacheControl.maxAge(Duration.ZERO).mustRevalidate()
+                : CacheControl.maxAge(remaining).cachePublic();
+
+        if (webRequest.checkNotModified(etag, lastModified)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag)
+                    .lastModified(lastModified)
+                    .cacheControl(cacheControl)
+                    .build();
+        }
+
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .eTag(etag)
+                .lastModified(lastModified)
+                .cacheControl(cacheControl);
+        if (contentType != null) {
+            builder.contentType(contentType);
         }
+        return builder.body(body);
     }
 
     @Operation(summary = "Delete temperature data by coordinates", description = "Deletes cached temperature data for a given latitude and longitude.")
@@ -0,0 +1,57 @@
+package org.meteoapp.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import org.meteoapp.model.ExportFormat;
+import org.meteoapp.service.TemperatureExportService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDateTime;
+
+@RestController
+@RequestMapping("/temperature")
+public class TemperatureExportController {
+
+    private final TemperatureExportService exportService;
+
+    @Autowired
+    public TemperatureExportController(TemperatureExportService exportService) {
+        this.exportService = exportService;
+    }
+
+    @Operation(summary = "Export stored temperature data",
+            description = "Streams stored readings in id order as NDJSON, CSV or fixed-size binary records. "
+                    + "Pass the id of the last received record as 'after' to continue an export.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Export streamed successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid format, cursor or time range"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(
+            @Parameter(description = "Output format: ndjson, csv or binary") @RequestParam(defaultValue = "ndjson") String format,
+            @Parameter(description = "Id of the last record already received") @RequestParam(required = false) String after,
+            @Parameter(description = "Inclusive lower bound of the reading timestamp") @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @Parameter(description = "Exclusive upper bound of the reading timestamp") @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @Parameter(description = "Maximum number of records, 0 for all") @RequestParam(defaultValue = "0") int limit) {
+        ExportFormat exportFormat = ExportFormat.parse(format);
+        exportService.validateExport(after, from, to, limit);
+
+        StreamingResponseBody body = output -> exportService.export(exportFormat, after, from, to, limit, output);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .body(body);
+    }
+}
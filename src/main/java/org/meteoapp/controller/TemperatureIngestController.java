@@ -0,0 +1,41 @@
+package org.meteoapp.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import org.meteoapp.model.request.TemperatureIngestRequest;
+import org.meteoapp.model.response.IngestResponse;
+import org.meteoapp.service.TemperatureIngestService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+@RestController
+@RequestMapping("/temperature")
+public class TemperatureIngestController {
+
+    private final TemperatureIngestService ingestService;
+
+    @Autowired
+    public TemperatureIngestController(TemperatureIngestService ingestService) {
+        this.ingestService = ingestService;
+    }
+
+    @Operation(summary = "Ingest sensor readings",
+            description = "Accepts a batch of readings and upserts them per coordinate. Responds once every write batch containing them has been flushed.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Readings written; per-batch results report any failures"),
+            @ApiResponse(responseCode = "400", description = "Invalid coordinates or temperatures"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @PostMapping("/ingest")
+    public CompletableFuture<ResponseEntity<IngestResponse>> ingest(@RequestBody List<TemperatureIngestRequest> readings) {
+        return ingestService.ingest(readings).thenApply(ResponseEntity::ok);
+    }
+}
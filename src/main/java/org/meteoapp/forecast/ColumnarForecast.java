@@ -0,0 +1,138 @@
+package org.meteoapp.forecast;
+
+import org.meteoapp.model.response.ForecastApiResponse;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Hourly forecast for one cell stored column by column: one primitive array per variable over a
+ * shared timestamp axis, so a week of hourly data costs a few kilobytes and no per-hour objects.
+ */
+public final class ColumnarForecast {
+
+    public static final short MISSING_CODE = -1;
+
+    private final long fetchedAtMillis;
+    private final long[] time;
+    private final float[] temperature;
+    private final float[] windSpeed;
+    private final float[] windDirection;
+    private final short[] weatherCode;
+
+    private ColumnarForecast(long fetchedAtMillis, long[] time, float[] temperature, float[] windSpeed, float[] windDirection, short[] weatherCode) {
+        this.fetchedAtMillis = fetchedAtMillis;
+        this.time = time;
+        this.temperature = temperature;
+        this.windSpeed = windSpeed;
+        this.windDirection = windDirection;
+        this.weatherCode = weatherCode;
+    }
+
+    public static ColumnarForecast from(ForecastApiResponse response, long fetchedAtMillis) {
+        ForecastApiResponse.Hourly hourly = response.getHourly();
+        if (hourly == null || hourly.getTime() == null || hourly.getTime().isEmpty()) {
+            throw new IllegalArgumentException("Forecast response has no hourly data.");
+        }
+        int size = hourly.getTime().size();
+        long[] time = new long[size];
+        for (int i = 0; i < size; i++) {
+            time[i] = hourly.getTime().get(i);
+        }
+        short[] weatherCode = new short[size];
+        Arrays.fill(weatherCode, MISSING_CODE);
+        if (hourly.getWeatherCode() != null) {
+            for (int i = 0; i < Math.min(size, hourly.getWeatherCode().size()); i++) {
+                Integer code = hourly.getWeatherCode().get(i);
+                if (code != null) {
+                    weatherCode[i] = code.shortValue();
+                }
+            }
+        }
+        return new ColumnarForecast(fetchedAtMillis, time, toColumn(hourly.getTemperature(), size),
+                toColumn(hourly.getWindSpeed(), size), toColumn(hourly.getWindDirection(), size), weatherCode);
+    }
+
+    public long fetchedAtMillis() {
+        return fetchedAtMillis;
+    }
+
+    public int size() {
+        return time.length;
+    }
+
+    public long time(int index) {
+        return time[index];
+    }
+
+    public float temperature(int index) {
+        return temperature[index];
+    }
+
+    public float windSpeed(int index) {
+        return windSpeed[index];
+    }
+
+    public float windDirection(int index) {
+        return windDirection[index];
+    }
+
+    public short weatherCode(int index) {
+        return weatherCode[index];
+    }
+
+    public boolean covers(long epochSecond) {
+        return epochSecond >= time[0] && epochSecond <= time[time.length - 1];
+    }
+
+    public int indexAtOrBefore(long epochSecond) {
+        int index = Arrays.binarySearch(time, epochSecond);
+        return index >= 0 ? index : -index - 2;
+    }
+
+    public float temperatureAt(long epochSecond) {
+        if (!covers(epochSecond)) {
+            return Float.NaN;
+        }
+        int index = indexAtOrBefore(epochSecond);
+        if (index == time.length - 1 || time[index] == epochSecond) {
+            return temperature[index];
+        }
+        float weight = (float) (epochSecond - time[index]) / (time[index + 1] - time[index]);
+        return temperature[index] + (temperature[index + 1] - temperature[index]) * weight;
+    }
+
+    public long[] timeRange(int from, int to) {
+        return Arrays.copyOfRange(time, from, to);
+    }
+
+    public float[] temperatureRange(int from, int to) {
+        return Arrays.copyOfRange(temperature, from, to);
+    }
+
+    public float[] windSpeedRange(int from, int to) {
+        return Arrays.copyOfRange(windSpeed, from, to);
+    }
+
+    public float[] windDirectionRange(int from, int to) {
+        return Arrays.copyOfRange(windDirection, from, to);
+    }
+
+    public short[] weatherCodeRange(int from, int to) {
+        return Arrays.copyOfRange(weatherCode, from, to);
+    }
+
+    private static float[] toColumn(List<Double> values, int size) {
+        float[] column = new float[size];
+        Arrays.fill(column, Float.NaN);
+        if (values != null) {
+            for (int i = 0; i < Math.min(size, values.size()); i++) {
+                Double value = values.get(i);
+                if (value != null) {
+                    column[i] = value.floatValue();
+                }
+            }
+        }
+        return column;
+    }
+}
@@ -0,0 +1,37 @@
+package org.meteoapp.forecast;
+
+import org.meteoapp.cache.LruCache;
+import org.meteoapp.config.MeteoProperties;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Latest hourly forecast per cell, evicting the least recently used cells once full so that
+ * forecasts for the current hot set keep being stored.
+ */
+@Component
+public class ForecastStore {
+
+    private final LruCache<ColumnarForecast> forecasts;
+
+    @Autowired
+    public ForecastStore(MeteoProperties properties) {
+        this(properties.getForecast().getMaxEntries());
+    }
+
+    public ForecastStore(int maxEntries) {
+        this.forecasts = new LruCache<>(maxEntries);
+    }
+
+    public ColumnarForecast get(long cellId) {
+        return forecasts.get(cellId);
+    }
+
+    public void put(long cellId, ColumnarForecast forecast) {
+        forecasts.put(cellId, forecast);
+    }
+
+    public void remove(long cellId) {
+        forecasts.remove(cellId);
+    }
+}
@@ -0,0 +1,60 @@
+package org.meteoapp.kafka.cache;
+
+import org.meteoapp.cache.event.CacheEvent;
+import org.meteoapp.cache.event.CacheEventBus;
+import org.meteoapp.config.MeteoProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.logging.Logger;
+
+/**
+ * Broadcasts cache events to every replica. Each instance joins its own consumer group so all
+ * nodes receive every event, starting from the latest offset.
+ */
+@Component
+@ConditionalOnProperty(name = "meteo.cache.events", havingValue = "kafka")
+public class KafkaCacheEventBus implements CacheEventBus {
+
+    private static final Logger logger = Logger.getLogger(KafkaCacheEventBus.class.getName());
+
+    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final String topic;
+    private final List<Consumer<CacheEvent>> subscribers = new CopyOnWriteArrayList<>();
+
+    public KafkaCacheEventBus(KafkaTemplate<String, String> kafkaTemplate, MeteoProperties properties) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.topic = properties.getCache().getEventsTopic();
+    }
+
+    @Override
+    public void publish(CacheEvent event) {
+        try {
+            kafkaTemplate.send(topic, Long.toString(event.cellId()), event.encode());
+        } catch (Exception e) {
+            logger.severe("Error publishing cache event to Kafka: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<CacheEvent> subscriber) {
+        subscribers.add(subscriber);
+    }
+
+    @KafkaListener(topics = "${meteo.cache.events-topic:temperature-cache-events}",
+            groupId = "meteo-cache-#{T(java.util.UUID).randomUUID()}",
+            properties = "auto.offset.reset=latest")
+    public void onMessage(String message) {
+        try {
+            CacheEvent event = CacheEvent.decode(message);
+            subscribers.forEach(subscriber -> subscriber.accept(event));
+        } catch (IllegalArgumentException e) {
+            logger.warning("Ignoring cache event: " + e.getMessage());
+        }
+    }
+}
@@ -1,14 +1,34 @@
 package org.meteoapp.kafka.config;
 
 import org.apache.kafka.clients.admin.NewTopic;
+import org.meteoapp.config.MeteoProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 @Configuration
 public class KafkaTopicConfig {
+    private final MeteoProperties properties;
+
+    public KafkaTopicConfig(MeteoProperties properties) {
+        this.properties = properties;
+    }
+
     @Bean
     public NewTopic temperatureUpdate() {
-        return new NewTopic("temperature-update", 1, (short) 1);
+        return topic(properties.getKafka().getUpdateTopic());
+    }
+
+    @Bean
+    public NewTopic temperatureCacheEvents() {
+        return topic(properties.getCache().getEventsTopic());
     }
 
+    @Bean
+    public NewTopic temperatureIngest() {
+        return topic(properties.getIngest().getTopic());
+    }
+
+    private NewTopic topic(String name) {
+        return new NewTopic(name, properties.getKafka().getPartitions(), properties.getKafka().getReplicationFactor());
+    }
 }
@@ -0,0 +1,62 @@
+package org.meteoapp.kafka.consumer;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.meteoapp.model.request.TemperatureIngestRequest;
+import org.meteoapp.model.response.IngestResponse;
+import org.meteoapp.service.TemperatureIngestService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Logger;
+
+/**
+ * Feeds sensor readings published as JSON objects into the ingest batches. A polled batch is only
+ * acknowledged after its writes complete, so readings are not lost if the instance stops mid-flush.
+ * Malformed or invalid messages are dropped one by one so they cannot take the rest of the poll down.
+ * Always created eagerly: nothing else references it, so lazy initialization would never start it.
+ */
+@Component
+@Lazy(false)
+@ConditionalOnProperty(name = "meteo.ingest.kafka.enabled", havingValue = "true")
+public class TemperatureIngestListener {
+
+    private static final Logger logger = Logger.getLogger(TemperatureIngestListener.class.getName());
+
+    private final TemperatureIngestService ingestService;
+    private final ObjectMapper objectMapper;
+
+    public TemperatureIngestListener(TemperatureIngestService ingestService, ObjectMapper objectMapper) {
+        this.ingestService = ingestService;
+        this.objectMapper = objectMapper;
+    }
+
+    @KafkaListener(topics = "${meteo.ingest.topic:temperature-ingest}", groupId = "${meteo.ingest.group-id:meteo-ingest}", batch = "true")
+    public void onMessages(List<String> messages) {
+        List<TemperatureIngestRequest> readings = new ArrayList<>(messages.size());
+        for (String message : messages) {
+            try {
+                TemperatureIngestRequest reading = objectMapper.readValue(message, TemperatureIngestRequest.class);
+                ingestService.validateReading(reading);
+                readings.add(reading);
+            } catch (JsonProcessingException e) {
+                logger.warning("Ignoring malformed ingest message: " + e.getOriginalMessage());
+            } catch (IllegalArgumentException e) {
+                logger.warning("Ignoring invalid ingest message: " + e.getMessage());
+            }
+        }
+        if (readings.isEmpty()) {
+            return;
+        }
+
+        IngestResponse response = ingestService.ingest(readings).join();
+        if (response.getFailed() > 0) {
+            logger.warning(String.format("Ingested %d readings from Kafka, %d failed: %s",
+                    response.getAccepted(), response.getFailed(), response.getBatches()));
+        }
+    }
+}
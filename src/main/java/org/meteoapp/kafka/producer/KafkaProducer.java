@@ -1,6 +1,6 @@
 package org.meteoapp.kafka.producer;
 
-import org.springframework.beans.factory.annotation.Value;
+import org.meteoapp.config.MeteoProperties;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Service;
 import java.util.logging.Logger;
@@ -11,11 +11,11 @@ public class KafkaProducer {
     private final KafkaTemplate<String, String> kafkaTemplate;
     private static final Logger logger = Logger.getLogger(KafkaProducer.class.getName());
 
-    @Value("${kafka.topic}")
-    private String topic;
+    private final String topic;
 
-    public KafkaProducer(KafkaTemplate<String, String> kafkaTemplate) {
+    public KafkaProducer(KafkaTemplate<String, String> kafkaTemplate, MeteoProperties properties) {
         this.kafkaTemplate = kafkaTemplate;
+        this.topic = properties.getKafka().getUpdateTopic();
     }
 
     public void sendMessage(String message) {
@@ -0,0 +1,12 @@
+package org.meteoapp.model;
+
+public record Coordinate(double latitude, double longitude) {
+
+    public static Coordinate parse(String value) {
+        String[] parts = value.trim().split(",");
+        if (parts.length != 2) {
+            throw new IllegalArgumentException("Coordinates must be given as latitude,longitude: " + value);
+        }
+        return new Coordinate(Double.parseDouble(parts[0].trim()), Double.parseDouble(parts[1].trim()));
+    }
+}
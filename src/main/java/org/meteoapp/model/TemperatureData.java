@@ -2,6 +2,7 @@ package org.meteoapp.model;
 
 import lombok.Data;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import javax.validation.constraints.Max;
@@ -10,6 +11,7 @@ import java.time.LocalDateTime;
 
 @Data
 @Document(collection = "temperature_data")
+@CompoundIndex(name = "latitude_longitude", def = "{'latitude': 1, 'longitude': 1}")
 public class TemperatureData {
 
     @Id
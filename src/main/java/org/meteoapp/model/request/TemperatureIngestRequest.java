@@ -0,0 +1,17 @@
+package org.meteoapp.model.request;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import lombok.Data;
+
+import java.time.Instant;
+
+@Data
+public class TemperatureIngestRequest {
+
+    private double latitude;
+    private double longitude;
+    private double temperature;
+
+    @JsonDeserialize(using = ReadingTimestampDeserializer.class)
+    private Instant timestamp;
+}
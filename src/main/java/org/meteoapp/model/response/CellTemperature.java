@@ -0,0 +1,4 @@
+package org.meteoapp.model.response;
+
+public record CellTemperature(double latitude, double longitude, double temperature) {
+}
@@ -0,0 +1,35 @@
+package org.meteoapp.model.response;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class ForecastApiResponse {
+
+    private double latitude;
+    private double longitude;
+
+    private Hourly hourly;
+
+    @Data
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class Hourly {
+        private List<Long> time;
+
+        @JsonProperty("temperature_2m")
+        private List<Double> temperature;
+
+        @JsonProperty("windspeed_10m")
+        private List<Double> windSpeed;
+
+        @JsonProperty("winddirection_10m")
+        private List<Double> windDirection;
+
+        @JsonProperty("weathercode")
+        private List<Integer> weatherCode;
+    }
+}
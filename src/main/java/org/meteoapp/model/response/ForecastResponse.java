@@ -0,0 +1,46 @@
+package org.meteoapp.model.response;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Data;
+
+@Data
+public class ForecastResponse {
+
+    private double latitude;
+    private double longitude;
+
+    @JsonProperty("current_weather")
+    private CurrentConditions currentWeather;
+
+    private Hourly hourly;
+
+    @Data
+    public static class CurrentConditions {
+        private long time;
+        private float temperature;
+
+        @JsonProperty("wind_speed")
+        private float windSpeed;
+
+        @JsonProperty("wind_direction")
+        private float windDirection;
+
+        @JsonProperty("weather_code")
+        private int weatherCode;
+    }
+
+    @Data
+    public static class Hourly {
+        private long[] time;
+        private float[] temperature;
+
+        @JsonProperty("wind_speed")
+        private float[] windSpeed;
+
+        @JsonProperty("wind_direction")
+        private float[] windDirection;
+
+        @JsonProperty("weather_code")
+        private short[] weatherCode;
+    }
+}
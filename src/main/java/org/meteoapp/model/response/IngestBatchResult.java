@@ -0,0 +1,6 @@
+package org.meteoapp.model.response;
+
+import java.util.List;
+
+public record IngestBatchResult(int readings, int upserted, int matched, int failed, List<String> errors) {
+}
@@ -0,0 +1,21 @@
+package org.meteoapp.model.response;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class IngestResponse {
+
+    private int accepted;
+    private int failed;
+    private List<IngestBatchResult> batches;
+
+    public IngestResponse(int accepted, List<IngestBatchResult> batches) {
+        this.accepted = accepted;
+        this.failed = batches.stream().mapToInt(IngestBatchResult::failed).sum();
+        this.batches = batches;
+    }
+
+    public IngestResponse() {}
+}
@@ -0,0 +1,20 @@
+package org.meteoapp.model.response;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Data;
+
+@Data
+public class TemperatureGridResponse {
+
+    @JsonProperty("min_latitude")
+    private double minLatitude;
+
+    @JsonProperty("min_longitude")
+    private double minLongitude;
+
+    private double resolution;
+    private int rows;
+    private int columns;
+
+    private Float[] temperatures;
+}
@@ -1,8 +1,11 @@
 package org.meteoapp.model.response;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.Data;
 
+import java.time.Instant;
+
 @Data
 public class TemperatureResponse {
 
@@ -12,6 +15,9 @@ public class TemperatureResponse {
     @JsonProperty("current_weather")
     private CurrentWeather currentWeather;
 
+    @JsonIgnore
+    private Instant lastModified;
+
     @Data
     public static class CurrentWeather {
         private double temperature;
@@ -1,10 +1,13 @@
 package org.meteoapp.repository;
 
 import org.meteoapp.model.TemperatureData;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import java.util.List;
 import java.util.Optional;
 
-public interface TemperatureRepository extends MongoRepository<TemperatureData, String> {
+public interface TemperatureRepository extends MongoRepository<TemperatureData, String>, TemperatureRepositoryCustom {
     Optional<TemperatureData> findByLatitudeAndLongitude(double latitude, double longitude);
     void deleteByLatitudeAndLongitude(double latitude, double longitude);
+    List<TemperatureData> findByOrderByTimestampDesc(Pageable pageable);
 }
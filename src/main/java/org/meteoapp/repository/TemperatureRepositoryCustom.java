@@ -0,0 +1,15 @@
+package org.meteoapp.repository;
+
+import org.meteoapp.model.Coordinate;
+import org.meteoapp.model.TemperatureData;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface TemperatureRepositoryCustom {
+    List<TemperatureData> findByCoordinates(Collection<Coordinate> coordinates);
+
+    Stream<TemperatureData> streamOrderedById(String afterId, LocalDateTime from, LocalDateTime to, int limit, int batchSize);
+}
@@ -0,0 +1,56 @@
+package org.meteoapp.repository;
+
+import org.bson.types.ObjectId;
+import org.meteoapp.model.Coordinate;
+import org.meteoapp.model.TemperatureData;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+public class TemperatureRepositoryCustomImpl implements TemperatureRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    public TemperatureRepositoryCustomImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public List<TemperatureData> findByCoordinates(Collection<Coordinate> coordinates) {
+        if (coordinates.isEmpty()) {
+            return List.of();
+        }
+        Criteria[] matches = coordinates.stream()
+                .map(coordinate -> Criteria.where("latitude").is(coordinate.latitude()).and("longitude").is(coordinate.longitude()))
+                .toArray(Criteria[]::new);
+        return mongoTemplate.find(new Query(new Criteria().orOperator(matches)), TemperatureData.class);
+    }
+
+    @Override
+    public Stream<TemperatureData> streamOrderedById(String afterId, LocalDateTime from, LocalDateTime to, int limit, int batchSize) {
+        Query query = new Query().with(Sort.by(Sort.Direction.ASC, "id")).cursorBatchSize(batchSize);
+        if (afterId != null) {
+            query.addCriteria(Criteria.where("id").gt(new ObjectId(afterId)));
+        }
+        if (from != null || to != null) {
+            Criteria timestamp = Criteria.where("timestamp");
+            if (from != null) {
+                timestamp.gte(from);
+            }
+            if (to != null) {
+                timestamp.lt(to);
+            }
+            query.addCriteria(timestamp);
+        }
+        if (limit > 0) {
+            query.limit(limit);
+        }
+        return mongoTemplate.stream(query, TemperatureData.class);
+    }
+}
@@ -0,0 +1,18 @@
+package org.meteoapp.service;
+
+import org.meteoapp.forecast.ColumnarForecast;
+import org.meteoapp.model.response.ForecastResponse;
+
+import java.util.Optional;
+import java.util.OptionalDouble;
+
+public interface ForecastService {
+
+    boolean isCurrentFromHourly();
+
+    Optional<ColumnarForecast> getForecast(double latitude, double longitude);
+
+    Optional<ForecastResponse> getForecastResponse(double latitude, double longitude, int hours);
+
+    OptionalDouble getCurrentTemperature(double latitude, double longitude);
+}
@@ -0,0 +1,12 @@
+package org.meteoapp.service;
+
+import org.meteoapp.model.ExportFormat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+
+public interface TemperatureExportService {
+    void validateExport(String afterId, LocalDateTime from, LocalDateTime to, int limit);
+    long export(ExportFormat format, String afterId, LocalDateTime from, LocalDateTime to, int limit, OutputStream output) throws IOException;
+}
@@ -0,0 +1,20 @@
+package org.meteoapp.service;
+
+import org.meteoapp.model.Coordinate;
+import org.meteoapp.model.response.CellTemperature;
+import org.meteoapp.model.response.TemperatureGridResponse;
+
+import java.util.List;
+
+public interface TemperatureGridService {
+
+    TemperatureGridResponse getTemperatureGrid(double minLatitude, double minLongitude, double maxLatitude, double maxLongitude, double resolution);
+
+    /**
+     * Resolves the given cells on this node without forwarding them, for peers filling their grids.
+     * Cells that could not be resolved are left out.
+     */
+    List<CellTemperature> getTemperatures(List<Coordinate> coordinates);
+
+    byte[] toBinary(TemperatureGridResponse grid);
+}
@@ -0,0 +1,13 @@
+package org.meteoapp.service;
+
+import org.meteoapp.model.request.TemperatureIngestRequest;
+import org.meteoapp.model.response.IngestResponse;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+public interface TemperatureIngestService {
+    CompletableFuture<IngestResponse> ingest(List<TemperatureIngestRequest> readings);
+    void flush();
+    void validateReading(TemperatureIngestRequest reading);
+}
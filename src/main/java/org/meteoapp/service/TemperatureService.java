@@ -1,16 +1,27 @@
 package org.meteoapp.service;
 
+import org.meteoapp.cache.LatestReading;
+import org.meteoapp.cache.SerializedReading;
+import org.meteoapp.model.Coordinate;
 import org.meteoapp.model.TemperatureData;
 import org.meteoapp.model.response.TemperatureResponse;
 
+import java.time.Duration;
+import java.util.List;
 import java.util.Optional;
 
 public interface TemperatureService {
 
     Optional<TemperatureResponse> getTemperature(double latitude, double longitude);
 
+    Optional<SerializedReading> getSerializedTemperature(double latitude, double longitude);
+
     Optional<TemperatureData> fetchAndSaveTemperatureData(double latitude, double longitude);
 
+    List<TemperatureData> fetchAndSaveTemperatureData(List<Coordinate> coordinates);
+
+    boolean preload(TemperatureData data);
+
     TemperatureResponse mapToResponse(TemperatureData data);
 
     void deleteTemperature(double latitude, double longitude);
@@ -19,6 +30,12 @@ public interface TemperatureService {
 
     boolean isDataStale(TemperatureData data);
 
+    boolean isReadingStale(LatestReading reading);
+
+    boolean isCached(double latitude, double longitude);
+
+    Duration getRemainingFreshness(long timestampMillis);
+
     void sendToKafka(double latitude, double longitude, double temperature);
 
 
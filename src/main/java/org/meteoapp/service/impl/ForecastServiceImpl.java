@@ -0,0 +1,137 @@
+package org.meteoapp.service.impl;
+
+import org.meteoapp.cache.CellId;
+import org.meteoapp.config.MeteoProperties;
+import org.meteoapp.forecast.ColumnarForecast;
+import org.meteoapp.forecast.ForecastStore;
+import org.meteoapp.model.response.ForecastApiResponse;
+import org.meteoapp.model.response.ForecastResponse;
+import org.meteoapp.service.ForecastService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Clock;
+import java.util.Optional;
+import java.util.OptionalDouble;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Logger;
+
+@Service
+public class ForecastServiceImpl implements ForecastService {
+
+    private static final Logger logger = Logger.getLogger(ForecastServiceImpl.class.getName());
+    private static final String HOURLY_VARIABLES = "temperature_2m,windspeed_10m,winddirection_10m,weathercode";
+
+    private final ForecastStore store;
+    private final RestTemplate restTemplate;
+    private final Clock clock;
+    private final MeteoProperties properties;
+    private final ConcurrentHashMap<Long, CompletableFuture<Optional<ColumnarForecast>>> inFlight = new ConcurrentHashMap<>();
+
+    @Autowired
+    public ForecastServiceImpl(ForecastStore store, RestTemplate restTemplate, Clock clock, MeteoProperties properties) {
+        this.store = store;
+        this.restTemplate = restTemplate;
+        this.clock = clock;
+        this.properties = properties;
+    }
+
+    @Override
+    public boolean isCurrentFromHourly() {
+        return properties.getForecast().isCurrentFromHourly();
+    }
+
+    @Override
+    public Optional<ColumnarForecast> getForecast(double latitude, double longitude) {
+        long cellId = CellId.of(latitude, longitude);
+        ColumnarForecast cached = store.get(cellId);
+        if (cached != null && isCurrent(cached)) {
+            return Optional.of(cached);
+        }
+
+        // Concurrent callers for the same cell share one upstream fetch, as ClusterRouter does for readings.
+        CompletableFuture<Optional<ColumnarForecast>> created = new CompletableFuture<>();
+        CompletableFuture<Optional<ColumnarForecast>> existing = inFlight.putIfAbsent(cellId, created);
+        if (existing != null) {
+            return existing.join();
+        }
+        try {
+            Optional<ColumnarForecast> forecast = fetch(cellId, latitude, longitude, cached);
+            created.complete(forecast);
+            return forecast;
+        } catch (RuntimeException e) {
+            created.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(cellId, created);
+        }
+    }
+
+    private Optional<ColumnarForecast> fetch(long cellId, double latitude, double longitude, ColumnarForecast cached) {
+        String url = String.format("%s?latitude=%s&longitude=%s&hourly=%s&timeformat=unixtime&forecast_days=%s",
+                properties.getUpstream().getBaseUrl(), latitude, longitude, HOURLY_VARIABLES, properties.getForecast().getDays());
+        try {
+            ForecastApiResponse response = restTemplate.getForObject(url, ForecastApiResponse.class);
+            if (response != null) {
+                ColumnarForecast forecast = ColumnarForecast.from(response, clock.millis());
+                store.put(cellId, forecast);
+                return Optional.of(forecast);
+            }
+        } catch (Exception e) {
+            logger.severe("Error fetching forecast from API: " + e.getMessage());
+        }
+        return Optional.ofNullable(cached);
+    }
+
+    @Override
+    public Optional<ForecastResponse> getForecastResponse(double latitude, double longitude, int hours) {
+        if (hours <= 0) {
+            throw new IllegalArgumentException("Forecast hours must be positive.");
+        }
+        long now = clock.millis() / 1000;
+        return getForecast(latitude, longitude)
+                .filter(forecast -> forecast.covers(now))
+                .map(forecast -> {
+                    int from = forecast.indexAtOrBefore(now);
+                    int to = Math.min(forecast.size(), from + hours);
+
+                    ForecastResponse.CurrentConditions current = new ForecastResponse.CurrentConditions();
+                    current.setTime(now);
+                    current.setTemperature(forecast.temperatureAt(now));
+                    current.setWindSpeed(forecast.windSpeed(from));
+                    current.setWindDirection(forecast.windDirection(from));
+                    current.setWeatherCode(forecast.weatherCode(from));
+
+                    ForecastResponse.Hourly hourly = new ForecastResponse.Hourly();
+                    hourly.setTime(forecast.timeRange(from, to));
+                    hourly.setTemperature(forecast.temperatureRange(from, to));
+                    hourly.setWindSpeed(forecast.windSpeedRange(from, to));
+                    hourly.setWindDirection(forecast.windDirectionRange(from, to));
+                    hourly.setWeatherCode(forecast.weatherCodeRange(from, to));
+
+                    ForecastResponse response = new ForecastResponse();
+                    response.setLatitude(latitude);
+                    response.setLongitude(longitude);
+                    response.setCurrentWeather(current);
+                    response.setHourly(hourly);
+                    return response;
+                });
+    }
+
+    @Override
+    public OptionalDouble getCurrentTemperature(double latitude, double longitude) {
+        long now = clock.millis() / 1000;
+        Optional<ColumnarForecast> forecast = getForecast(latitude, longitude);
+        if (forecast.isEmpty()) {
+            return OptionalDouble.empty();
+        }
+        float temperature = forecast.get().temperatureAt(now);
+        return Float.isNaN(temperature) ? OptionalDouble.empty() : OptionalDouble.of(Math.round(temperature * 100) / 100.0);
+    }
+
+    private boolean isCurrent(ColumnarForecast forecast) {
+        return clock.millis() - forecast.fetchedAtMillis() < properties.getForecast().getRefreshInterval().toMillis() && forecast.covers(clock.millis() / 1000);
+    }
+}
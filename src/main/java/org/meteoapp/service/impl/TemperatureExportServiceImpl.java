@@ -0,0 +1,146 @@
+package org.meteoapp.service.impl;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.bson.types.ObjectId;
+import org.meteoapp.config.MeteoProperties;
+import org.meteoapp.model.ExportFormat;
+import org.meteoapp.model.TemperatureData;
+import org.meteoapp.repository.TemperatureRepository;
+import org.meteoapp.service.TemperatureExportService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.stream.Stream;
+
+/**
+ * Streams temperature_data in _id order straight from a MongoDB cursor. Only one cursor batch is
+ * held at a time and output is flushed per batch, so a slow client blocks the writer (and with it
+ * the next getMore) instead of piling documents up on the heap.
+ */
+@Service
+public class TemperatureExportServiceImpl implements TemperatureExportService {
+
+    private static final int BINARY_RECORD_BYTES = 12 + 2 * Double.BYTES + Float.BYTES + Long.BYTES;
+    private static final String CSV_HEADER = "id,latitude,longitude,temperature,timestamp\n";
+
+    private final TemperatureRepository repository;
+    private final ObjectMapper objectMapper;
+    private final Clock clock;
+    private final int batchSize;
+    private final int bufferSize;
+
+    @Autowired
+    public TemperatureExportServiceImpl(TemperatureRepository repository, ObjectMapper objectMapper, Clock clock, MeteoProperties properties) {
+        this(repository, objectMapper, clock, properties.getExport().getBatchSize(), properties.getExport().getBufferSize());
+    }
+
+    public TemperatureExportServiceImpl(TemperatureRepository repository, ObjectMapper objectMapper, Clock clock, int batchSize, int bufferSize) {
+        this.repository = repository;
+        this.objectMapper = objectMapper;
+        this.clock = clock;
+        this.batchSize = Math.max(1, batchSize);
+        this.bufferSize = Math.max(512, bufferSize);
+    }
+
+    @Override
+    public void validateExport(String afterId, LocalDateTime from, LocalDateTime to, int limit) {
+        if (afterId != null && !ObjectId.isValid(afterId)) {
+            throw new IllegalArgumentException("after must be the id of a previously exported record.");
+        }
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new IllegalArgumentException("from must be before to.");
+        }
+        if (limit < 0) {
+            throw new IllegalArgumentException("limit must not be negative.");
+        }
+    }
+
+    @Override
+    public long export(ExportFormat format, String afterId, LocalDateTime from, LocalDateTime to, int limit, OutputStream output) throws IOException {
+        validateExport(afterId, from, to, limit);
+
+        BufferedOutputStream buffered = new BufferedOutputStream(output, bufferSize);
+        try (Stream<TemperatureData> records = repository.streamOrderedById(afterId, from, to, limit, batchSize)) {
+            long count = switch (format) {
+                case NDJSON -> writeNdjson(records.iterator(), buffered);
+                case CSV -> writeCsv(records.iterator(), buffered);
+                case BINARY -> writeBinary(records.iterator(), buffered);
+            };
+            buffered.flush();
+            return count;
+        }
+    }
+
+    private long writeNdjson(Iterator<TemperatureData> records, OutputStream output) throws IOException {
+        long count = 0;
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(output)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            // Records are separated by the newline below, not Jackson's default " " between root values.
+            generator.setRootValueSeparator(null);
+            while (records.hasNext()) {
+                TemperatureData data = records.next();
+                generator.writeStartObject();
+                generator.writeStringField("id", data.getId());
+                generator.writeNumberField("latitude", data.getLatitude());
+                generator.writeNumberField("longitude", data.getLongitude());
+                generator.writeNumberField("temperature", data.getTemperature());
+                generator.writeStringField("timestamp", data.getTimestamp() == null ? null : data.getTimestamp().toString());
+                generator.writeEndObject();
+                generator.writeRaw('\n');
+                if (++count % batchSize == 0) {
+                    generator.flush();
+                }
+            }
+        }
+        return count;
+    }
+
+    private long writeCsv(Iterator<TemperatureData> records, OutputStream output) throws IOException {
+        output.write(CSV_HEADER.getBytes(StandardCharsets.US_ASCII));
+        long count = 0;
+        while (records.hasNext()) {
+            TemperatureData data = records.next();
+            String line = String.format(Locale.US, "%s,%s,%s,%s,%s\n", data.getId(), data.getLatitude(), data.getLongitude(),
+                    data.getTemperature(), data.getTimestamp() == null ? "" : data.getTimestamp());
+            output.write(line.getBytes(StandardCharsets.US_ASCII));
+            if (++count % batchSize == 0) {
+                output.flush();
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Fixed 40-byte little-endian records: 12-byte ObjectId, float64 latitude, float64 longitude,
+     * float32 temperature, int64 epoch milliseconds (0 when unknown).
+     */
+    private long writeBinary(Iterator<TemperatureData> records, OutputStream output) throws IOException {
+        ByteBuffer record = ByteBuffer.allocate(BINARY_RECORD_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        long count = 0;
+        while (records.hasNext()) {
+            TemperatureData data = records.next();
+            record.clear();
+            record.put(new ObjectId(data.getId()).toByteArray())
+                    .putDouble(data.getLatitude())
+                    .putDouble(data.getLongitude())
+                    .putFloat((float) data.getTemperature())
+                    .putLong(data.getTimestamp() == null ? 0L : data.getTimestamp().atZone(clock.getZone()).toInstant().toEpochMilli());
+            output.write(record.array());
+            if (++count % batchSize == 0) {
+                output.flush();
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,240 @@
+package org.meteoapp.service.impl;
+
+import jakarta.annotation.PreDestroy;
+import org.meteoapp.cache.CellId;
+import org.meteoapp.cache.LatestReading;
+import org.meteoapp.cache.ReadingCache;
+import org.meteoapp.cluster.ClusterNode;
+import org.meteoapp.cluster.ClusterRouter;
+import org.meteoapp.config.MeteoProperties;
+import org.meteoapp.model.Coordinate;
+import org.meteoapp.model.TemperatureData;
+import org.meteoapp.model.response.CellTemperature;
+import org.meteoapp.model.response.TemperatureGridResponse;
+import org.meteoapp.repository.TemperatureRepository;
+import org.meteoapp.service.TemperatureGridService;
+import org.meteoapp.service.TemperatureService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+
+/**
+ * Builds dense temperature grids for a bounding box. Grid points are snapped to multiples of the
+ * resolution so the same viewport always maps to the same packed cell ids, which are looked up
+ * directly in the near-cache; only the remaining cells go to MongoDB and then upstream in batches.
+ * Only cells this node owns are fetched upstream. The rest are requested from their owners in one
+ * batch per owner, and stay empty only when that owner fails to answer.
+ */
+@Service
+public class TemperatureGridServiceImpl implements TemperatureGridService {
+
+    private static final double EPSILON = 1e-9;
+    private static final int BINARY_HEADER_BYTES = 2 * Integer.BYTES + 3 * Double.BYTES;
+
+    private final ReadingCache readingCache;
+    private final TemperatureRepository repository;
+    private final TemperatureService temperatureService;
+    private final ClusterRouter clusterRouter;
+    private final MeteoProperties properties;
+    private final ExecutorService executor;
+
+    @Autowired
+    public TemperatureGridServiceImpl(ReadingCache readingCache, TemperatureRepository repository, TemperatureService temperatureService,
+                                      ClusterRouter clusterRouter, MeteoProperties properties) {
+        this.readingCache = readingCache;
+        this.repository = repository;
+        this.temperatureService = temperatureService;
+        this.clusterRouter = clusterRouter;
+        this.properties = properties;
+        this.executor = Executors.newFixedThreadPool(Math.max(1, properties.getArea().getParallelism()));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    @Override
+    public TemperatureGridResponse getTemperatureGrid(double minLatitude, double minLongitude, double maxLatitude, double maxLongitude, double resolution) {
+        validateBoundingBox(minLatitude, minLongitude, maxLatitude, maxLongitude, resolution);
+
+        long firstRow = (long) Math.ceil(minLatitude / resolution - EPSILON);
+        long firstColumn = (long) Math.ceil(minLongitude / resolution - EPSILON);
+        long rows = (long) Math.floor(maxLatitude / resolution + EPSILON) - firstRow + 1;
+        long columns = (long) Math.floor(maxLongitude / resolution + EPSILON) - firstColumn + 1;
+        if (rows <= 0 || columns <= 0) {
+            throw new IllegalArgumentException("Bounding box contains no grid points at the given resolution.");
+        }
+        int maxCells = properties.getArea().getMaxCells();
+        // Bound each side first: at tiny resolutions the product overflows and would pass the check.
+        if (rows > maxCells || columns > maxCells || rows * columns > maxCells) {
+            throw new IllegalArgumentException("Bounding box exceeds " + maxCells + " cells at the given resolution.");
+        }
+
+        int cellCount = (int) (rows * columns);
+        Float[] temperatures = new Float[cellCount];
+        Map<Long, Integer> missing = new HashMap<>();
+        List<Coordinate> missingCoordinates = new ArrayList<>();
+        for (int row = 0; row < rows; row++) {
+            double latitude = snap((firstRow + row) * resolution);
+            for (int column = 0; column < columns; column++) {
+                double longitude = snap((firstColumn + column) * resolution);
+                long cellId = CellId.of(latitude, longitude);
+                LatestReading reading = readingCache.get(cellId);
+                int index = row * (int) columns + column;
+                if (reading != null && !temperatureService.isReadingStale(reading)) {
+                    temperatures[index] = (float) reading.temperature();
+                } else {
+                    missing.put(cellId, index);
+                    missingCoordinates.add(new Coordinate(latitude, longitude));
+                }
+            }
+        }
+
+        resolve(missingCoordinates, missing, temperatures, true);
+
+        TemperatureGridResponse grid = new TemperatureGridResponse();
+        grid.setMinLatitude(snap(firstRow * resolution));
+        grid.setMinLongitude(snap(firstColumn * resolution));
+        grid.setResolution(resolution);
+        grid.setRows((int) rows);
+        grid.setColumns((int) columns);
+        grid.setTemperatures(temperatures);
+        return grid;
+    }
+
+    @Override
+    public List<CellTemperature> getTemperatures(List<Coordinate> coordinates) {
+        int maxCells = properties.getArea().getMaxCells();
+        if (coordinates == null || coordinates.size() > maxCells) {
+            throw new IllegalArgumentException("A request may contain at most " + maxCells + " cells.");
+        }
+
+        Float[] temperatures = new Float[coordinates.size()];
+        Map<Long, Integer> missing = new HashMap<>();
+        List<Coordinate> missingCoordinates = new ArrayList<>();
+        for (int i = 0; i < coordinates.size(); i++) {
+            Coordinate coordinate = coordinates.get(i);
+            temperatureService.validateCoordinates(coordinate.latitude(), coordinate.longitude());
+            long cellId = CellId.of(coordinate.latitude(), coordinate.longitude());
+            LatestReading reading = readingCache.get(cellId);
+            if (reading != null && !temperatureService.isReadingStale(reading)) {
+                temperatures[i] = (float) reading.temperature();
+            } else if (missing.putIfAbsent(cellId, i) == null) {
+                missingCoordinates.add(coordinate);
+            }
+        }
+
+        // Peers only send the cells they think this node owns, so nothing is forwarded on again.
+        resolve(missingCoordinates, missing, temperatures, false);
+
+        List<CellTemperature> cells = new ArrayList<>();
+        for (int i = 0; i < coordinates.size(); i++) {
+            if (temperatures[i] != null) {
+                cells.add(new CellTemperature(coordinates.get(i).latitude(), coordinates.get(i).longitude(), temperatures[i]));
+            }
+        }
+        return cells;
+    }
+
+    @Override
+    public byte[] toBinary(TemperatureGridResponse grid) {
+        Float[] temperatures = grid.getTemperatures();
+        ByteBuffer buffer = ByteBuffer.allocate(BINARY_HEADER_BYTES + temperatures.length * Float.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(grid.getRows())
+                .putInt(grid.getColumns())
+                .putDouble(grid.getMinLatitude())
+                .putDouble(grid.getMinLongitude())
+                .putDouble(grid.getResolution());
+        for (Float temperature : temperatures) {
+            buffer.putFloat(temperature == null ? Float.NaN : temperature);
+        }
+        return buffer.array();
+    }
+
+    /**
+     * Fills cells missing from the near-cache from MongoDB, then refreshes the ones this node owns.
+     * Cells of other owners are requested from them in parallel with the local fetch.
+     */
+    private void resolve(List<Coordinate> coordinates, Map<Long, Integer> indexes, Float[] temperatures, boolean forwardToOwners) {
+        List<Coordinate> remaining = fill(coordinates, indexes, temperatures, batch ->
+                repository.findByCoordinates(batch).stream().filter(temperatureService::preload).toList());
+
+        List<Coordinate> owned = remaining;
+        List<CompletableFuture<List<CellTemperature>>> forwarded = new ArrayList<>();
+        if (forwardToOwners) {
+            owned = List.of();
+            for (Map.Entry<ClusterNode, List<Coordinate>> group : clusterRouter.groupByOwner(remaining).entrySet()) {
+                if (clusterRouter.isSelf(group.getKey())) {
+                    owned = group.getValue();
+                } else {
+                    forwarded.add(CompletableFuture.supplyAsync(() -> clusterRouter.forwardAll(group.getKey(), group.getValue()), executor));
+                }
+            }
+        }
+
+        int maxUpstreamCells = properties.getArea().getMaxUpstreamCells();
+        if (owned.size() > maxUpstreamCells) {
+            owned = owned.subList(0, maxUpstreamCells);
+        }
+        // Shares fetches with point requests and other grids that are already loading the same cells.
+        fill(owned, indexes, temperatures, batch -> clusterRouter.refreshAll(batch, temperatureService::fetchAndSaveTemperatureData));
+
+        for (CompletableFuture<List<CellTemperature>> owner : forwarded) {
+            for (CellTemperature cell : owner.join()) {
+                Integer index = indexes.get(CellId.of(cell.latitude(), cell.longitude()));
+                if (index != null) {
+                    temperatures[index] = (float) cell.temperature();
+                }
+            }
+        }
+    }
+
+    private List<Coordinate> fill(List<Coordinate> coordinates, Map<Long, Integer> indexes, Float[] temperatures,
+                                  Function<List<Coordinate>, List<TemperatureData>> loader) {
+        List<CompletableFuture<List<TemperatureData>>> batches = new ArrayList<>();
+        int batchSize = Math.max(1, properties.getArea().getBatchSize());
+        for (int i = 0; i < coordinates.size(); i += batchSize) {
+            List<Coordinate> batch = coordinates.subList(i, Math.min(coordinates.size(), i + batchSize));
+            batches.add(CompletableFuture.supplyAsync(() -> loader.apply(batch), executor));
+        }
+
+        for (CompletableFuture<List<TemperatureData>> batch : batches) {
+            for (TemperatureData data : batch.join()) {
+                Integer index = indexes.get(CellId.of(data.getLatitude(), data.getLongitude()));
+                if (index != null) {
+                    temperatures[index] = (float) data.getTemperature();
+                }
+            }
+        }
+        return coordinates.stream()
+                .filter(coordinate -> temperatures[indexes.get(CellId.of(coordinate.latitude(), coordinate.longitude()))] == null)
+                .toList();
+    }
+
+    private static double snap(double value) {
+        return Math.round(value * 1_000_000d) / 1_000_000d;
+    }
+
+    private void validateBoundingBox(double minLatitude, double minLongitude, double maxLatitude, double maxLongitude, double resolution) {
+        if (minLatitude < -90 || maxLatitude > 90 || minLongitude < -180 || maxLongitude > 180) {
+            throw new IllegalArgumentException("Latitude must be in range of -90 to 90° and longitude from -180 to 180°.");
+        }
+        if (minLatitude > maxLatitude || minLongitude > maxLongitude) {
+            throw new IllegalArgumentException("Bounding box minimum must not exceed its maximum.");
+        }
+        if (!(resolution > 0)) {
+            throw new IllegalArgumentException("Resolution must be positive.");
+        }
+    }
+}
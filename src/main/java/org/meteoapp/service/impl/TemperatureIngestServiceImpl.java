@@ -0,0 +1,302 @@
+package org.meteoapp.service.impl;
+
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import jakarta.annotation.PreDestroy;
+import org.meteoapp.cache.CellId;
+import org.meteoapp.cache.LatestReading;
+import org.meteoapp.cache.ReadingCache;
+import org.meteoapp.config.MeteoProperties;
+import org.meteoapp.model.TemperatureData;
+import org.meteoapp.model.request.TemperatureIngestRequest;
+import org.meteoapp.model.response.IngestBatchResult;
+import org.meteoapp.model.response.IngestResponse;
+import org.meteoapp.service.TemperatureIngestService;
+import org.meteoapp.service.TemperatureService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.aggregation.ComparisonOperators;
+import org.springframework.data.mongodb.core.aggregation.ConditionalOperators;
+import org.springframework.data.mongodb.core.aggregation.SetOperation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * Accumulates pushed readings into unordered bulk upserts keyed by latitude/longitude. A batch is
+ * written once it reaches the size limit or its first reading has waited for the flush interval;
+ * callers get back the result of every batch their readings ended up in.
+ */
+@Service
+public class TemperatureIngestServiceImpl implements TemperatureIngestService {
+
+    private static final Logger logger = Logger.getLogger(TemperatureIngestServiceImpl.class.getName());
+
+    private final MongoTemplate mongoTemplate;
+    private final ReadingCache readingCache;
+    private final TemperatureService temperatureService;
+    private final Clock clock;
+    private final int batchSize;
+    private final long flushIntervalMillis;
+    private final int maxRequestReadings;
+    private final Duration maxClockSkew;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+    private final ExecutorService writers;
+
+    private final Object lock = new Object();
+    private Batch current;
+
+    @Autowired
+    public TemperatureIngestServiceImpl(MongoTemplate mongoTemplate, ReadingCache readingCache, TemperatureService temperatureService, Clock clock,
+                                        MeteoProperties properties) {
+        this(mongoTemplate, readingCache, temperatureService, clock, properties.getIngest().getBatchSize(), properties.getIngest().getFlushInterval(),
+                properties.getIngest().getWriterThreads(), properties.getIngest().getMaxRequestReadings(), properties.getIngest().getMaxClockSkew());
+    }
+
+    public TemperatureIngestServiceImpl(MongoTemplate mongoTemplate, ReadingCache readingCache, TemperatureService temperatureService, Clock clock,
+                                        int batchSize, Duration flushInterval, int writerThreads, int maxRequestReadings, Duration maxClockSkew) {
+        this.mongoTemplate = mongoTemplate;
+        this.readingCache = readingCache;
+        this.temperatureService = temperatureService;
+        this.clock = clock;
+        this.batchSize = Math.max(1, batchSize);
+        this.flushIntervalMillis = Math.max(1, flushInterval.toMillis());
+        this.maxRequestReadings = maxRequestReadings;
+        this.maxClockSkew = maxClockSkew;
+        this.writers = Executors.newFixedThreadPool(Math.max(1, writerThreads));
+        long tick = Math.max(1, flushIntervalMillis / 2);
+        scheduler.scheduleWithFixedDelay(this::flushExpired, tick, tick, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdown();
+        flush();
+        writers.shutdown();
+        try {
+            writers.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public CompletableFuture<IngestResponse> ingest(List<TemperatureIngestRequest> readings) {
+        validate(readings);
+
+        Set<CompletableFuture<IngestBatchResult>> results = new LinkedHashSet<>();
+        List<Batch> full = new ArrayList<>();
+        synchronized (lock) {
+            for (TemperatureIngestRequest reading : readings) {
+                if (current == null) {
+                    current = new Batch(clock.millis());
+                }
+                current.add(toData(reading));
+                results.add(current.result);
+                if (current.readings >= batchSize) {
+                    full.add(current);
+                    current = null;
+                }
+            }
+        }
+        full.forEach(batch -> writers.execute(() -> write(batch)));
+
+        return CompletableFuture.allOf(results.toArray(CompletableFuture[]::new))
+                .thenApply(done -> new IngestResponse(readings.size(), results.stream().map(CompletableFuture::join).toList()));
+    }
+
+    @Override
+    public void flush() {
+        Batch batch;
+        synchronized (lock) {
+            batch = current;
+            current = null;
+        }
+        if (batch != null) {
+            writers.execute(() -> write(batch));
+        }
+    }
+
+    private void flushExpired() {
+        Batch batch;
+        synchronized (lock) {
+            if (current == null || clock.millis() - current.createdMillis < flushIntervalMillis) {
+                return;
+            }
+            batch = current;
+            current = null;
+        }
+        try {
+            writers.execute(() -> write(batch));
+        } catch (RuntimeException e) {
+            logger.severe("Error scheduling ingest batch: " + e.getMessage());
+            batch.result.complete(failed(batch, List.of(e.getMessage())));
+        }
+    }
+
+    private void write(Batch batch) {
+        List<TemperatureData> operations = new ArrayList<>(batch.latest.values());
+        IngestBatchResult result;
+        BulkWriteResult written;
+        Set<Integer> failedIndexes = new HashSet<>();
+        try {
+            BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, TemperatureData.class);
+            for (TemperatureData data : operations) {
+                Query query = new Query(Criteria.where("latitude").is(data.getLatitude()).and("longitude").is(data.getLongitude()));
+                bulk.upsert(query, newerOnly(data));
+            }
+            written = bulk.execute();
+            result = new IngestBatchResult(batch.readings, written.getUpserts().size(), written.getMatchedCount(), 0, List.of());
+        } catch (BulkOperationException e) {
+            List<String> errors = new ArrayList<>();
+            for (BulkWriteError error : e.getErrors()) {
+                failedIndexes.add(error.getIndex());
+                TemperatureData data = operations.get(error.getIndex());
+                errors.add(String.format("%s,%s: %s", data.getLatitude(), data.getLongitude(), error.getMessage()));
+            }
+            written = e.getResult();
+            result = new IngestBatchResult(batch.readings, written.getUpserts().size(), written.getMatchedCount(), failedIndexes.size(), errors);
+            logger.warning("Ingest batch of " + operations.size() + " upserts had " + errors.size() + " failures");
+        } catch (RuntimeException e) {
+            logger.severe("Error writing ingest batch of " + operations.size() + " upserts: " + e.getMessage());
+            batch.result.complete(failed(batch, List.of(String.valueOf(e.getMessage()))));
+            return;
+        }
+
+        publishStored(operations, failedIndexes, written);
+        batch.result.complete(result);
+    }
+
+    /**
+     * Publishes what MongoDB holds once the batch is written. Inserted readings were applied. A matched
+     * reading may have been kept out by a newer stored one; unless every matched document was modified,
+     * those cells are read back so the near-cache never holds a value MongoDB rejected.
+     */
+    private void publishStored(List<TemperatureData> operations, Set<Integer> failedIndexes, BulkWriteResult written) {
+        Set<Integer> upserted = new HashSet<>();
+        written.getUpserts().forEach(upsert -> upserted.add(upsert.getIndex()));
+        List<TemperatureData> matched = new ArrayList<>();
+        for (int i = 0; i < operations.size(); i++) {
+            if (failedIndexes.contains(i)) {
+                continue;
+            }
+            if (upserted.contains(i)) {
+                readingCache.publish(toReading(operations.get(i)));
+            } else {
+                matched.add(operations.get(i));
+            }
+        }
+        if (matched.isEmpty()) {
+            return;
+        }
+        if (written.getModifiedCount() >= written.getMatchedCount()) {
+            matched.forEach(data -> readingCache.publish(toReading(data)));
+            return;
+        }
+        try {
+            Criteria[] cells = matched.stream()
+                    .map(data -> Criteria.where("latitude").is(data.getLatitude()).and("longitude").is(data.getLongitude()))
+                    .toArray(Criteria[]::new);
+            mongoTemplate.find(new Query(new Criteria().orOperator(cells)), TemperatureData.class)
+                    .forEach(data -> readingCache.publish(toReading(data)));
+        } catch (RuntimeException e) {
+            logger.warning("Error reading back " + matched.size() + " ingested cells, near-cache not updated: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Pipeline update that only replaces the stored reading when this one is at least as new, so a
+     * late sensor reading cannot roll MongoDB back behind the near-cache. A missing timestamp sorts
+     * before any date, which makes the upsert insert path take the new values.
+     */
+    private static AggregationUpdate newerOnly(TemperatureData data) {
+        // Same zone Spring Data uses when it stores LocalDateTime values.
+        Date timestamp = Date.from(data.getTimestamp().atZone(ZoneId.systemDefault()).toInstant());
+        ComparisonOperators.Lte newer = ComparisonOperators.valueOf("timestamp").lessThanEqualToValue(timestamp);
+        return AggregationUpdate.update().set(SetOperation
+                .set("temperature").toValue(ConditionalOperators.when(newer).then(data.getTemperature()).otherwiseValueOf("temperature"))
+                .and()
+                .set("timestamp").toValue(ConditionalOperators.when(newer).then(timestamp).otherwiseValueOf("timestamp")));
+    }
+
+    private void validate(List<TemperatureIngestRequest> readings) {
+        if (readings == null || readings.isEmpty()) {
+            throw new IllegalArgumentException("At least one reading is required.");
+        }
+        if (readings.size() > maxRequestReadings) {
+            throw new IllegalArgumentException("A request may contain at most " + maxRequestReadings + " readings.");
+        }
+        readings.forEach(this::validateReading);
+    }
+
+    @Override
+    public void validateReading(TemperatureIngestRequest reading) {
+        temperatureService.validateCoordinates(reading.getLatitude(), reading.getLongitude());
+        if (!Double.isFinite(reading.getTemperature())) {
+            throw new IllegalArgumentException("Temperature must be a finite number.");
+        }
+        if (reading.getTimestamp() != null && reading.getTimestamp().isAfter(clock.instant().plus(maxClockSkew))) {
+            throw new IllegalArgumentException("Timestamp must not be in the future.");
+        }
+    }
+
+    private TemperatureData toData(TemperatureIngestRequest reading) {
+        TemperatureData data = new TemperatureData();
+        data.setLatitude(reading.getLatitude());
+        data.setLongitude(reading.getLongitude());
+        data.setTemperature(reading.getTemperature());
+        data.setTimestamp(reading.getTimestamp() != null ? LocalDateTime.ofInstant(reading.getTimestamp(), clock.getZone()) : LocalDateTime.now(clock));
+        return data;
+    }
+
+    private LatestReading toReading(TemperatureData data) {
+        long timestampMillis = data.getTimestamp().atZone(clock.getZone()).toInstant().toEpochMilli();
+        return new LatestReading(CellId.of(data.getLatitude(), data.getLongitude()), data.getTemperature(), timestampMillis);
+    }
+
+    private static IngestBatchResult failed(Batch batch, List<String> errors) {
+        return new IngestBatchResult(batch.readings, 0, 0, batch.latest.size(), errors);
+    }
+
+    /**
+     * Readings for the same cell within one batch collapse into a single upsert of the newest one.
+     */
+    private static final class Batch {
+        private final long createdMillis;
+        private final Map<Long, TemperatureData> latest = new LinkedHashMap<>();
+        private final CompletableFuture<IngestBatchResult> result = new CompletableFuture<>();
+        private int readings;
+
+        private Batch(long createdMillis) {
+            this.createdMillis = createdMillis;
+        }
+
+        private void add(TemperatureData data) {
+            readings++;
+            latest.merge(CellId.of(data.getLatitude(), data.getLongitude()), data,
+                    (existing, candidate) -> candidate.getTimestamp().isBefore(existing.getTimestamp()) ? existing : candidate);
+        }
+    }
+}
@@ -1,8 +1,20 @@
 package org.meteoapp.service.impl;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.meteoapp.cache.CellId;
+import org.meteoapp.cache.LatestReading;
+import org.meteoapp.cache.ReadingCache;
+import org.meteoapp.cache.SerializedReading;
+import org.meteoapp.cache.SerializedResponseCache;
+import org.meteoapp.cluster.ClusterRouter;
+import org.meteoapp.cluster.OwnerBusyException;
+import org.meteoapp.config.MeteoProperties;
+import org.meteoapp.model.Coordinate;
 import org.meteoapp.model.TemperatureData;
 import org.meteoapp.model.response.TemperatureResponse;
 import org.meteoapp.repository.TemperatureRepository;
+import org.meteoapp.service.ForecastService;
 import org.meteoapp.service.TemperatureService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.kafka.core.KafkaTemplate;
@@ -10,9 +22,16 @@ import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 
 import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDateTime;
-import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.OptionalDouble;
+import java.util.stream.Collectors;
 import java.util.logging.Logger;
 
 @Service
@@ -24,43 +43,110 @@ public class TemperatureServiceImpl implements TemperatureService {
     private final RestTemplate restTemplate;
     private final Clock clock;
     private final KafkaTemplate<String, String> kafkaTemplate;
+    private final ReadingCache readingCache;
+    private final SerializedResponseCache serializedCache;
+    private final ObjectMapper objectMapper;
+    private final ClusterRouter clusterRouter;
+    private final ForecastService forecastService;
+    private final MeteoProperties properties;
 
     @Autowired
-    public TemperatureServiceImpl(TemperatureRepository repository, Clock clock, RestTemplate restTemplate, KafkaTemplate<String, String> kafkaTemplate) {
+    public TemperatureServiceImpl(TemperatureRepository repository, Clock clock, RestTemplate restTemplate, KafkaTemplate<String, String> kafkaTemplate,
+                                  ReadingCache readingCache, SerializedResponseCache serializedCache, ObjectMapper objectMapper,
+                                  ClusterRouter clusterRouter, ForecastService forecastService, MeteoProperties properties) {
         this.repository = repository;
         this.clock = clock;
         this.restTemplate = restTemplate;
         this.kafkaTemplate = kafkaTemplate;
+        this.readingCache = readingCache;
+        this.serializedCache = serializedCache;
+        this.objectMapper = objectMapper;
+        this.clusterRouter = clusterRouter;
+        this.forecastService = forecastService;
+        this.properties = properties;
     }
 
     @Override
     public Optional<TemperatureResponse> getTemperature(double latitude, double longitude) {
         validateCoordinates(latitude, longitude);
 
+        return resolveReading(latitude, longitude).map(reading -> {
+            TemperatureResponse response = new TemperatureResponse(latitude, longitude, reading.temperature());
+            response.setLastModified(Instant.ofEpochMilli(reading.timestampMillis()));
+            return response;
+        });
+    }
+
+    @Override
+    public Optional<SerializedReading> getSerializedTemperature(double latitude, double longitude) {
+        validateCoordinates(latitude, longitude);
+
+        long cellId = CellId.of(latitude, longitude);
+        SerializedReading serialized = serializedCache.get(cellId);
+        if (serialized != null && !isStale(serialized.timestampMillis())) {
+            sendToKafka(latitude, longitude, serialized.temperature());
+            return Optional.of(serialized);
+        }
+
+        return resolveReading(latitude, longitude).map(reading -> serialize(latitude, longitude, reading));
+    }
+
+    private Optional<LatestReading> resolveReading(double latitude, double longitude) {
+        long cellId = CellId.of(latitude, longitude);
+        LatestReading cached = readingCache.get(cellId);
+        if (cached != null && !isStale(cached.timestampMillis())) {
+            sendToKafka(latitude, longitude, cached.temperature());
+            return Optional.of(cached);
+        }
+
         Optional<TemperatureData> optionalData = repository.findByLatitudeAndLongitude(latitude, longitude);
 
         if (optionalData.isPresent() && !isDataStale(optionalData.get())) {
             sendToKafka(latitude, longitude, optionalData.get().getTemperature());
-            return optionalData.map(this::mapToResponse);
+            return optionalData.map(this::remember);
         }
 
-        Optional<TemperatureData> freshData = fetchAndSaveTemperatureData(latitude, longitude);
+        Optional<TemperatureData> freshData;
+        try {
+            freshData = clusterRouter.refresh(cellId, latitude, longitude, () -> fetchAndSaveTemperatureData(latitude, longitude));
+        } catch (OwnerBusyException e) {
+            // The owner is shedding load: a stale reading beats a 503, and both beat fetching it here.
+            LatestReading stale = optionalData.map(this::toReading)
+                    .filter(reading -> cached == null || reading.timestampMillis() > cached.timestampMillis())
+                    .orElse(cached);
+            if (stale == null) {
+                throw e;
+            }
+            sendToKafka(latitude, longitude, stale.temperature());
+            return Optional.of(stale);
+        }
         freshData.ifPresent(data -> sendToKafka(latitude, longitude, data.getTemperature()));
 
-        return freshData.map(this::mapToResponse);
+        return freshData.map(this::remember);
     }
 
+    private SerializedReading serialize(double latitude, double longitude, LatestReading reading) {
+        long cellId = CellId.of(latitude, longitude);
+        try {
+            byte[] body = objectMapper.writeValueAsBytes(new TemperatureResponse(latitude, longitude, reading.temperature()));
+            String etag = SerializedReading.etagFor(cellId, reading.temperature(), reading.timestampMillis());
+            SerializedReading serialized = new SerializedReading(body, etag, reading.temperature(), reading.timestampMillis());
+            serializedCache.put(cellId, serialized);
+            return serialized;
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Error serializing temperature response: " + e.getMessage(), e);
+        }
+    }
 
     @Override
     public Optional<TemperatureData> fetchAndSaveTemperatureData(double latitude, double longitude) {
-        String url = String.format("https://api.open-meteo.com/v1/forecast?latitude=%s&longitude=%s&current_weather=true", latitude, longitude);
         try {
-            TemperatureResponse response = restTemplate.getForObject(url, TemperatureResponse.class);
-            if (response != null && response.getCurrentWeather() != null) {
+            Double temperature = fetchCurrentTemperature(latitude, longitude);
+            if (temperature != null) {
                 TemperatureData data = new TemperatureData();
                 data.setLatitude(latitude);
                 data.setLongitude(longitude);
-                data.setTemperature(response.getCurrentWeather().getTemperature());
+                data.setTemperature(temperature);
                 data.setTimestamp(LocalDateTime.now(clock));
 
                 repository.findByLatitudeAndLongitude(latitude, longitude).ifPresent(existingData -> {
@@ -72,6 +158,7 @@ public class TemperatureServiceImpl implements TemperatureService {
                     repository.save(data);
                 }
 
+                readingCache.publish(toReading(data));
                 return Optional.of(data);
             }
         } catch (Exception e) {
@@ -80,6 +167,75 @@ public class TemperatureServiceImpl implements TemperatureService {
         return Optional.empty();
     }
 
+    private Double fetchCurrentTemperature(double latitude, double longitude) {
+        if (forecastService.isCurrentFromHourly()) {
+            OptionalDouble temperature = forecastService.getCurrentTemperature(latitude, longitude);
+            if (temperature.isPresent()) {
+                return temperature.getAsDouble();
+            }
+        }
+
+        String url = String.format("%s?latitude=%s&longitude=%s&current_weather=true", properties.getUpstream().getBaseUrl(), latitude, longitude);
+        TemperatureResponse response = restTemplate.getForObject(url, TemperatureResponse.class);
+        return response != null && response.getCurrentWeather() != null ? response.getCurrentWeather().getTemperature() : null;
+    }
+
+    @Override
+    public List<TemperatureData> fetchAndSaveTemperatureData(List<Coordinate> coordinates) {
+        if (coordinates.size() <= 1) {
+            return coordinates.stream()
+                    .map(coordinate -> fetchAndSaveTemperatureData(coordinate.latitude(), coordinate.longitude()))
+                    .flatMap(Optional::stream)
+                    .toList();
+        }
+
+        String latitudes = coordinates.stream().map(coordinate -> String.valueOf(coordinate.latitude())).collect(Collectors.joining(","));
+        String longitudes = coordinates.stream().map(coordinate -> String.valueOf(coordinate.longitude())).collect(Collectors.joining(","));
+        String url = String.format("%s?latitude=%s&longitude=%s&current_weather=true", properties.getUpstream().getBaseUrl(), latitudes, longitudes);
+        try {
+            TemperatureResponse[] responses = restTemplate.getForObject(url, TemperatureResponse[].class);
+            if (responses == null) {
+                return List.of();
+            }
+
+            Map<Long, String> existingIds = new HashMap<>();
+            repository.findByCoordinates(coordinates)
+                    .forEach(existing -> existingIds.put(CellId.of(existing.getLatitude(), existing.getLongitude()), existing.getId()));
+
+            List<TemperatureData> batch = new ArrayList<>(coordinates.size());
+            for (int i = 0; i < Math.min(responses.length, coordinates.size()); i++) {
+                TemperatureResponse response = responses[i];
+                if (response == null || response.getCurrentWeather() == null) {
+                    continue;
+                }
+                Coordinate coordinate = coordinates.get(i);
+                TemperatureData data = new TemperatureData();
+                data.setId(existingIds.get(CellId.of(coordinate.latitude(), coordinate.longitude())));
+                data.setLatitude(coordinate.latitude());
+                data.setLongitude(coordinate.longitude());
+                data.setTemperature(response.getCurrentWeather().getTemperature());
+                data.setTimestamp(LocalDateTime.now(clock));
+                batch.add(data);
+            }
+
+            repository.saveAll(batch);
+            batch.forEach(data -> readingCache.publish(toReading(data)));
+            return batch;
+        } catch (Exception e) {
+            logger.severe("Error fetching batch of " + coordinates.size() + " locations from API: " + e.getMessage());
+        }
+        return List.of();
+    }
+
+    @Override
+    public boolean preload(TemperatureData data) {
+        if (data.getTimestamp() == null || isDataStale(data)) {
+            return false;
+        }
+        remember(data);
+        return true;
+    }
+
     @Override
     public TemperatureResponse mapToResponse(TemperatureData data) {
         TemperatureResponse response = new TemperatureResponse();
@@ -89,6 +245,9 @@ public class TemperatureServiceImpl implements TemperatureService {
         TemperatureResponse.CurrentWeather currentWeather = new TemperatureResponse.CurrentWeather();
         currentWeather.setTemperature(data.getTemperature());
         response.setCurrentWeather(currentWeather);
+        if (data.getTimestamp() != null) {
+            response.setLastModified(data.getTimestamp().atZone(clock.getZone()).toInstant());
+        }
 
         return response;
     }
@@ -97,6 +256,7 @@ public class TemperatureServiceImpl implements TemperatureService {
     public void deleteTemperature(double latitude, double longitude) {
         validateCoordinates(latitude, longitude);
         repository.deleteByLatitudeAndLongitude(latitude, longitude);
+        readingCache.invalidate(CellId.of(latitude, longitude));
     }
 
     @Override
@@ -108,14 +268,47 @@ public class TemperatureServiceImpl implements TemperatureService {
 
     @Override
     public boolean isDataStale(TemperatureData data) {
-        return ChronoUnit.MINUTES.between(data.getTimestamp(), LocalDateTime.now(clock)) > 1;
+        return Duration.between(data.getTimestamp(), LocalDateTime.now(clock)).compareTo(properties.getCache().getTtl()) > 0;
+    }
+
+    @Override
+    public boolean isReadingStale(LatestReading reading) {
+        return isStale(reading.timestampMillis());
+    }
+
+    @Override
+    public boolean isCached(double latitude, double longitude) {
+        LatestReading cached = readingCache.get(CellId.of(latitude, longitude));
+        return cached != null && !isStale(cached.timestampMillis());
+    }
+
+    @Override
+    public Duration getRemainingFreshness(long timestampMillis) {
+        long ttlMillis = properties.getCache().getTtl().toMillis();
+        long remainingMillis = ttlMillis - (clock.millis() - timestampMillis);
+        return Duration.ofMillis(Math.max(0, Math.min(remainingMillis, ttlMillis)));
+    }
+
+    private boolean isStale(long timestampMillis) {
+        return clock.millis() - timestampMillis > properties.getCache().getTtl().toMillis();
+    }
+
+    private LatestReading remember(TemperatureData data) {
+        LatestReading reading = toReading(data);
+        readingCache.put(reading);
+        return reading;
+    }
+
+    private LatestReading toReading(TemperatureData data) {
+        long timestampMillis = data.getTimestamp().atZone(clock.getZone()).toInstant().toEpochMilli();
+        return new LatestReading(CellId.of(data.getLatitude(), data.getLongitude()), data.getTemperature(), timestampMillis);
     }
 
     @Override
     public void sendToKafka(double latitude, double longitude, double temperature) {
         String message = String.format(java.util.Locale.US, "Lat: %.4f, Lon: %.4f, Temp: %.2f", latitude, longitude, temperature);
         try {
-            kafkaTemplate.send("my-Topic", message);
+            kafkaTemplate.send(properties.getKafka().getReadingTopic(), message);
         } catch (Exception e) {
             logger.severe("Error sending message to Kafka: " + e.getMessage());
         }
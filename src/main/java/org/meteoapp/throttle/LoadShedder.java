@@ -0,0 +1,79 @@
+package org.meteoapp.throttle;
+
+import org.meteoapp.config.MeteoProperties;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Rejects work before it queues up behind the upstream. Requests answerable from the near-cache may
+ * use every concurrency slot; requests that may need an Open-Meteo fetch only get a share of them and
+ * are shed outright while their recent latency is above the threshold.
+ */
+@Component
+public class LoadShedder {
+
+    public enum Priority { CACHED, UPSTREAM }
+
+    private static final double LATENCY_WEIGHT = 0.2;
+
+    private final Clock clock;
+    private final MeteoProperties properties;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private double upstreamLatencyMillis;
+    private long lastSampleMillis;
+
+    @Autowired
+    public LoadShedder(Clock clock, MeteoProperties properties) {
+        this.clock = clock;
+        this.properties = properties;
+    }
+
+    public boolean tryAcquire(Priority priority) {
+        MeteoProperties.Shedding shedding = properties.getShedding();
+        int maxConcurrent = Math.max(1, shedding.getMaxConcurrent());
+        int limit = priority == Priority.CACHED ? maxConcurrent : Math.max(1, (int) (maxConcurrent * shedding.getUpstreamShare()));
+        if (priority == Priority.UPSTREAM && isUpstreamSlow()) {
+            return false;
+        }
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    public void release(Priority priority, long latencyMillis) {
+        inFlight.decrementAndGet();
+        if (priority == Priority.UPSTREAM) {
+            synchronized (this) {
+                long now = clock.millis();
+                upstreamLatencyMillis = now - lastSampleMillis >= properties.getShedding().getLatencyWindow().toMillis()
+                        ? latencyMillis
+                        : upstreamLatencyMillis + LATENCY_WEIGHT * (latencyMillis - upstreamLatencyMillis);
+                lastSampleMillis = now;
+            }
+        }
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * Samples older than the window are ignored, so once upstream requests have been shed for a
+     * while the next ones are let through and their latency restarts the average.
+     */
+    private synchronized boolean isUpstreamSlow() {
+        MeteoProperties.Shedding shedding = properties.getShedding();
+        return upstreamLatencyMillis > shedding.getLatencyThreshold().toMillis()
+                && clock.millis() - lastSampleMillis < shedding.getLatencyWindow().toMillis();
+    }
+}
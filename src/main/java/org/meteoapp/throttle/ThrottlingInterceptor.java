@@ -0,0 +1,123 @@
+package org.meteoapp.throttle;
+
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.meteoapp.cluster.ClusterRouter;
+import org.meteoapp.config.MeteoProperties;
+import org.meteoapp.controller.TemperatureController;
+import org.meteoapp.controller.TemperatureExportController;
+import org.meteoapp.controller.TemperatureIngestController;
+import org.meteoapp.service.TemperatureService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.io.IOException;
+import java.time.Clock;
+
+/**
+ * Applies the per-client rate limit and load shedding before a handler runs. The concurrency slot is
+ * held until the request completes, including the async part of streaming and deferred responses.
+ * Bulk export and ingest are only rate limited: they never call upstream, and a long export would
+ * otherwise hold a slot for minutes and feed its duration into the upstream latency average.
+ */
+@Component
+public class ThrottlingInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String PERMIT_ATTRIBUTE = ThrottlingInterceptor.class.getName() + ".permit";
+
+    private final TokenBucketRateLimiter rateLimiter;
+    private final LoadShedder loadShedder;
+    private final TemperatureService temperatureService;
+    private final ClusterRouter clusterRouter;
+    private final Clock clock;
+    private final MeteoProperties properties;
+
+    @Autowired
+    public ThrottlingInterceptor(TokenBucketRateLimiter rateLimiter, LoadShedder loadShedder, @Lazy TemperatureService temperatureService,
+                                 @Lazy ClusterRouter clusterRouter, Clock clock, MeteoProperties properties) {
+        this.rateLimiter = rateLimiter;
+        this.loadShedder = loadShedder;
+        this.temperatureService = temperatureService;
+        this.clusterRouter = clusterRouter;
+        this.clock = clock;
+        this.properties = properties;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws IOException {
+        if (request.getDispatcherType() != DispatcherType.REQUEST) {
+            return true;
+        }
+
+        // Requests forwarded from a peer node were already counted against the client there.
+        if (properties.getRatelimit().isEnabled() && !clusterRouter.isVerifiedForward(request)) {
+            long waitMillis = rateLimiter.tryAcquire(clientKey(request));
+            if (waitMillis > 0) {
+                return reject(response, HttpStatus.TOO_MANY_REQUESTS, waitMillis, "Rate limit exceeded, retry later.");
+            }
+        }
+
+        if (properties.getShedding().isEnabled() && !isBulk(handler)) {
+            LoadShedder.Priority priority = priorityOf(request, handler);
+            if (!loadShedder.tryAcquire(priority)) {
+                return reject(response, HttpStatus.SERVICE_UNAVAILABLE, properties.getShedding().getRetryAfter().toMillis(), "Service is overloaded, retry later.");
+            }
+            request.setAttribute(PERMIT_ATTRIBUTE, new Permit(priority, clock.millis()));
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (request.getAttribute(PERMIT_ATTRIBUTE) instanceof Permit permit) {
+            request.removeAttribute(PERMIT_ATTRIBUTE);
+            loadShedder.release(permit.priority(), clock.millis() - permit.startMillis());
+        }
+    }
+
+    private String clientKey(HttpServletRequest request) {
+        // Only issued keys get their own bucket, otherwise a client could rotate the header to escape the limit.
+        // The remote address is the client's once server.forward-headers-strategy resolves X-Forwarded-For.
+        String apiKey = request.getHeader(properties.getRatelimit().getApiKeyHeader());
+        return apiKey != null && properties.getRatelimit().getApiKeys().contains(apiKey) ? "key:" + apiKey : "ip:" + request.getRemoteAddr();
+    }
+
+    private static boolean isBulk(Object handler) {
+        return handler instanceof HandlerMethod method
+                && (method.getBeanType() == TemperatureExportController.class || method.getBeanType() == TemperatureIngestController.class);
+    }
+
+    private LoadShedder.Priority priorityOf(HttpServletRequest request, Object handler) {
+        String latitude = request.getParameter("latitude");
+        String longitude = request.getParameter("longitude");
+        if (handler instanceof HandlerMethod method && method.getBeanType() == TemperatureController.class
+                && "GET".equals(request.getMethod()) && latitude != null && longitude != null) {
+            try {
+                if (temperatureService.isCached(Double.parseDouble(latitude), Double.parseDouble(longitude))) {
+                    return LoadShedder.Priority.CACHED;
+                }
+            } catch (NumberFormatException e) {
+                // Left to the handler, which rejects the malformed parameter.
+            }
+        }
+        return LoadShedder.Priority.UPSTREAM;
+    }
+
+    private static boolean reject(HttpServletResponse response, HttpStatus status, long retryAfterMillis, String message) throws IOException {
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(Math.max(1, (retryAfterMillis + 999) / 1000)));
+        response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+        response.getWriter().write(message);
+        return false;
+    }
+
+    private record Permit(LoadShedder.Priority priority, long startMillis) {
+    }
+}
@@ -0,0 +1,97 @@
+package org.meteoapp.throttle;
+
+import org.meteoapp.config.MeteoProperties;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Per-client token buckets spread over independently locked stripes, so concurrent clients rarely
+ * contend on the same lock. Each stripe holds at most its share of {@code meteo.ratelimit.max-clients}
+ * and drops the least recently seen client when full. Rate and burst are read on every call.
+ */
+@Component
+public class TokenBucketRateLimiter {
+
+    private final Clock clock;
+    private final MeteoProperties properties;
+    private final Stripe[] stripes;
+    private final int stripeMask;
+
+    @Autowired
+    public TokenBucketRateLimiter(Clock clock, MeteoProperties properties) {
+        this.clock = clock;
+        this.properties = properties;
+        int stripeCount = 1;
+        while (stripeCount < properties.getRatelimit().getStripes()) {
+            stripeCount *= 2;
+        }
+        int maxClientsPerStripe = Math.max(1, properties.getRatelimit().getMaxClients() / stripeCount);
+        this.stripes = new Stripe[stripeCount];
+        this.stripeMask = stripeCount - 1;
+        for (int i = 0; i < stripeCount; i++) {
+            this.stripes[i] = new Stripe(maxClientsPerStripe);
+        }
+    }
+
+    /**
+     * Takes one token for the client.
+     *
+     * @return 0 when the request may proceed, otherwise the milliseconds until a token is available
+     */
+    public long tryAcquire(String client) {
+        int hash = client.hashCode();
+        Stripe stripe = stripes[(hash ^ (hash >>> 16)) & stripeMask];
+        long now = clock.millis();
+        double tokensPerMilli = properties.getRatelimit().getRequestsPerSecond() / 1000d;
+        double burst = properties.getRatelimit().getBurst();
+        synchronized (stripe) {
+            Bucket bucket = stripe.get(client);
+            if (bucket == null) {
+                bucket = new Bucket(burst, now);
+                stripe.put(client, bucket);
+            }
+            refill(bucket, now, tokensPerMilli, burst);
+            if (bucket.tokens >= 1) {
+                bucket.tokens -= 1;
+                return 0;
+            }
+            return (long) Math.ceil((1 - bucket.tokens) / tokensPerMilli);
+        }
+    }
+
+    private static void refill(Bucket bucket, long now, double tokensPerMilli, double burst) {
+        if (now > bucket.updatedMillis) {
+            bucket.tokens = Math.min(burst, bucket.tokens + (now - bucket.updatedMillis) * tokensPerMilli);
+            bucket.updatedMillis = now;
+        }
+    }
+
+    private static final class Stripe extends LinkedHashMap<String, Bucket> {
+
+        private final int capacity;
+
+        private Stripe(int capacity) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Bucket> eldest) {
+            return size() > capacity;
+        }
+    }
+
+    private static final class Bucket {
+        private double tokens;
+        private long updatedMillis;
+
+        private Bucket(double tokens, long updatedMillis) {
+            this.tokens = tokens;
+            this.updatedMillis = updatedMillis;
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package org.meteoapp.warmup;
+
+import org.meteoapp.cache.CellId;
+import org.meteoapp.cluster.ClusterRouter;
+import org.meteoapp.config.MeteoProperties;
+import org.meteoapp.model.Coordinate;
+import org.meteoapp.model.TemperatureData;
+import org.meteoapp.repository.TemperatureRepository;
+import org.meteoapp.service.TemperatureService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.logging.Logger;
+
+/**
+ * Fills the near-cache before the instance reports ready. Runs as an {@link ApplicationRunner},
+ * so the readiness state only switches to accepting traffic once it returns. Its dependencies are
+ * resolved lazily so a disabled warm-up does not pull the service graph in under lazy initialization.
+ * Only a malformed {@code meteo.warmup.coordinates} value fails startup; any other problem is logged
+ * and the instance starts with whatever it managed to load.
+ */
+@Component
+public class CacheWarmUp implements ApplicationRunner {
+
+    private static final Logger logger = Logger.getLogger(CacheWarmUp.class.getName());
+
+    private final TemperatureRepository repository;
+    private final TemperatureService temperatureService;
+    private final ClusterRouter clusterRouter;
+    private final Clock clock;
+    private final MeteoProperties.Warmup settings;
+
+    @Autowired
+    public CacheWarmUp(@Lazy TemperatureRepository repository, @Lazy TemperatureService temperatureService, @Lazy ClusterRouter clusterRouter, Clock clock,
+                       MeteoProperties properties) {
+        this.repository = repository;
+        this.temperatureService = temperatureService;
+        this.clusterRouter = clusterRouter;
+        this.clock = clock;
+        this.settings = properties.getWarmup();
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        if (!settings.isEnabled()) {
+            return;
+        }
+        long deadline = clock.millis() + settings.getMaxDuration().toMillis();
+        Map<Long, Coordinate> configured = new LinkedHashMap<>();
+        addEntries(configured, Arrays.asList(settings.getCoordinates().split(";")), true);
+
+        try {
+            List<Coordinate> targets = collectTargets(configured);
+            List<Coordinate> stale = preload(targets);
+            int refreshed = refresh(stale, deadline);
+
+            logger.info(String.format("Cache warm-up finished: %d locations, %d preloaded, %d refreshed",
+                    targets.size(), targets.size() - stale.size(), refreshed));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.warning("Cache warm-up interrupted, starting with a partially warm cache");
+        } catch (Exception e) {
+            logger.warning("Cache warm-up failed, starting with a cold cache: " + e);
+        }
+    }
+
+    private List<Coordinate> collectTargets(Map<Long, Coordinate> targets) throws IOException {
+        if (!settings.getCoordinatesFile().isBlank()) {
+            addEntries(targets, Files.readAllLines(Path.of(settings.getCoordinatesFile())), false);
+        }
+        if (settings.getTopN() > 0) {
+            for (TemperatureData data : repository.findByOrderByTimestampDesc(PageRequest.of(0, settings.getTopN()))) {
+                targets.putIfAbsent(CellId.of(data.getLatitude(), data.getLongitude()), new Coordinate(data.getLatitude(), data.getLongitude()));
+            }
+        }
+        return new ArrayList<>(targets.values());
+    }
+
+    private static void addEntries(Map<Long, Coordinate> targets, List<String> entries, boolean strict) {
+        for (String entry : entries) {
+            if (entry.isBlank() || entry.startsWith("#")) {
+                continue;
+            }
+            try {
+                Coordinate coordinate = Coordinate.parse(entry);
+                targets.putIfAbsent(CellId.of(coordinate.latitude(), coordinate.longitude()), coordinate);
+            } catch (IllegalArgumentException e) {
+                if (strict) {
+                    throw e;
+                }
+                logger.warning("Skipping malformed warm-up coordinate: " + entry);
+            }
+        }
+    }
+
+    private List<Coordinate> preload(List<Coordinate> targets) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, settings.getReadParallelism()));
+        try {
+            List<Future<List<TemperatureData>>> reads = new ArrayList<>();
+            for (List<Coordinate> batch : partition(targets, settings.getReadBatchSize())) {
+                reads.add(executor.submit(() -> repository.findByCoordinates(batch)));
+            }
+
+            Set<Long> loaded = new HashSet<>();
+            for (Future<List<TemperatureData>> read : reads) {
+                for (TemperatureData data : read.get()) {
+                    if (temperatureService.preload(data)) {
+                        loaded.add(CellId.of(data.getLatitude(), data.getLongitude()));
+                    }
+                }
+            }
+            return targets.stream()
+                    .filter(coordinate -> !loaded.contains(CellId.of(coordinate.latitude(), coordinate.longitude())))
+                    .toList();
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private int refresh(List<Coordinate> stale, long deadline) throws InterruptedException {
+        List<Coordinate> owned = stale.stream()
+                .filter(coordinate -> clusterRouter.isOwner(CellId.of(coordinate.latitude(), coordinate.longitude())))
+                .toList();
+        double requestsPerSecond = settings.getUpstreamRequestsPerSecond();
+        long interval = requestsPerSecond > 0 ? (long) (1000 / requestsPerSecond) : 0;
+        long nextRequest = clock.millis();
+        int attempted = 0;
+        int refreshed = 0;
+
+        for (List<Coordinate> batch : partition(owned, settings.getUpstreamBatchSize())) {
+            long wait = nextRequest - clock.millis();
+            if (wait > 0) {
+                Thread.sleep(wait);
+            }
+            if (clock.millis() >= deadline) {
+                logger.warning("Cache warm-up budget exhausted, " + (owned.size() - attempted) + " locations left cold");
+                break;
+            }
+            nextRequest = clock.millis() + interval;
+            attempted += batch.size();
+            refreshed += temperatureService.fetchAndSaveTemperatureData(batch).size();
+        }
+        return refreshed;
+    }
+
+    private static <T> List<List<T>> partition(List<T> items, int size) {
+        List<List<T>> batches = new ArrayList<>();
+        int step = Math.max(1, size);
+        for (int i = 0; i < items.size(); i += step) {
+            batches.add(items.subList(i, Math.min(items.size(), i + step)));
+        }
+        return batches;
+    }
+}
@@ -2,6 +2,7 @@ package org.meteoapp.IT.service;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.meteoapp.cache.ReadingCache;
 import org.meteoapp.model.TemperatureData;
 import org.meteoapp.model.response.TemperatureResponse;
 import org.meteoapp.repository.TemperatureRepository;
@@ -31,6 +32,9 @@ public class TemperatureServiceIntegrationTest {
     @Autowired
     private TemperatureRepository repository;
 
+    @Autowired
+    private ReadingCache readingCache;
+
     @MockBean
     private RestTemplate restTemplate;
 
@@ -43,6 +47,7 @@ public class TemperatureServiceIntegrationTest {
     @BeforeEach
     void setUp() {
         repository.deleteAll();
+        readingCache.clear();
     }
 
     @Test
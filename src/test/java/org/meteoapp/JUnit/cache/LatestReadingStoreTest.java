@@ -0,0 +1,75 @@
+package org.meteoapp.JUnit.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.meteoapp.cache.CellId;
+import org.meteoapp.cache.LatestReading;
+import org.meteoapp.cache.LatestReadingStore;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatestReadingStoreTest {
+
+    private static final double LATITUDE = 40.7128;
+    private static final double LONGITUDE = -74.0060;
+
+    private LatestReadingStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new LatestReadingStore(4, 2);
+    }
+
+    @Test
+    void givenCoordinatesWhenPackedThenUnpacksToSameCoordinates() {
+        long cellId = CellId.of(LATITUDE, LONGITUDE);
+
+        assertEquals(LATITUDE, CellId.latitude(cellId), 1e-9);
+        assertEquals(LONGITUDE, CellId.longitude(cellId), 1e-9);
+        assertTrue(CellId.of(-90, -180) >= 0);
+    }
+
+    @Test
+    void givenStoredReadingWhenGetThenReturnsReading() {
+        long cellId = CellId.of(LATITUDE, LONGITUDE);
+        store.put(cellId, 25.0, 1_000L);
+
+        LatestReading reading = store.get(cellId);
+
+        assertNotNull(reading);
+        assertEquals(25.0, reading.temperature());
+        assertEquals(1_000L, reading.timestampMillis());
+    }
+
+    @Test
+    void givenOlderReadingWhenPutThenKeepsLatest() {
+        long cellId = CellId.of(LATITUDE, LONGITUDE);
+        store.put(cellId, 25.0, 2_000L);
+        store.put(cellId, 20.0, 1_000L);
+
+        assertEquals(25.0, store.get(cellId).temperature());
+    }
+
+    @Test
+    void givenRemovedReadingWhenGetThenReturnsNull() {
+        long cellId = CellId.of(LATITUDE, LONGITUDE);
+        store.put(cellId, 25.0, 1_000L);
+
+        store.remove(cellId);
+
+        assertNull(store.get(cellId));
+        assertEquals(0, store.size());
+    }
+
+    @Test
+    void givenManyCellsWhenStoreGrowsThenAllReadingsRemainReachable() {
+        for (int i = 0; i < 10_000; i++) {
+            store.put(CellId.of(i / 200.0, i / 100.0), i, i);
+        }
+
+        assertEquals(10_000, store.size());
+        for (int i = 0; i < 10_000; i++) {
+            assertEquals(i, store.get(CellId.of(i / 200.0, i / 100.0)).temperature());
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package org.meteoapp.JUnit.cache;
+
+import org.junit.jupiter.api.Test;
+import org.meteoapp.cache.CellId;
+import org.meteoapp.cache.LruCache;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LruCacheTest {
+
+    @Test
+    void givenFullCacheWhenPutThenEvictsLeastRecentlyUsedEntry() {
+        LruCache<String> cache = new LruCache<>(2);
+        cache.put(CellId.of(40.0, -74.0), "a");
+        cache.put(CellId.of(41.0, -74.0), "b");
+        cache.get(CellId.of(40.0, -74.0));
+
+        cache.put(CellId.of(42.0, -74.0), "c");
+
+        assertEquals("a", cache.get(CellId.of(40.0, -74.0)));
+        assertNull(cache.get(CellId.of(41.0, -74.0)));
+        assertEquals("c", cache.get(CellId.of(42.0, -74.0)));
+    }
+
+    @Test
+    void givenMoreCellsThanCapacityWhenPutThenSizeStaysBounded() {
+        LruCache<Integer> cache = new LruCache<>(1_000);
+        for (int i = 0; i < 10_000; i++) {
+            cache.put(CellId.of(i / 200.0, i / 100.0), i);
+        }
+
+        assertTrue(cache.size() <= 1_000);
+        assertEquals(9_999, cache.get(CellId.of(9_999 / 200.0, 9_999 / 100.0)));
+    }
+}
@@ -0,0 +1,79 @@
+package org.meteoapp.JUnit.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.meteoapp.cache.CellId;
+import org.meteoapp.cache.LatestReading;
+import org.meteoapp.cache.LatestReadingStore;
+import org.meteoapp.cache.NearCacheReadingCache;
+import org.meteoapp.cache.SerializedReading;
+import org.meteoapp.cache.SerializedResponseCache;
+import org.meteoapp.cache.event.CacheEvent;
+import org.meteoapp.cache.event.LocalCacheEventBus;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NearCacheReadingCacheTest {
+
+    private static final long CELL_ID = CellId.of(40.7128, -74.0060);
+
+    private NearCacheReadingCache firstNode;
+    private NearCacheReadingCache secondNode;
+    private SerializedResponseCache secondNodeSerialized;
+
+    @BeforeEach
+    void setUp() {
+        LocalCacheEventBus bus = new LocalCacheEventBus();
+        secondNodeSerialized = new SerializedResponseCache(16);
+        firstNode = new NearCacheReadingCache(new LatestReadingStore(16, 1), new SerializedResponseCache(16), bus);
+        secondNode = new NearCacheReadingCache(new LatestReadingStore(16, 1), secondNodeSerialized, bus);
+    }
+
+    @Test
+    void givenPublishedReadingWhenOtherNodeGetsThenReturnsReading() {
+        firstNode.publish(new LatestReading(CELL_ID, 25.0, 1_000L));
+
+        LatestReading reading = secondNode.get(CELL_ID);
+
+        assertNotNull(reading);
+        assertEquals(25.0, reading.temperature());
+    }
+
+    @Test
+    void givenLocalPutWhenOtherNodeGetsThenReturnsNull() {
+        firstNode.put(new LatestReading(CELL_ID, 25.0, 1_000L));
+
+        assertNotNull(firstNode.get(CELL_ID));
+        assertNull(secondNode.get(CELL_ID));
+    }
+
+    @Test
+    void givenInvalidationWhenOtherNodeGetsThenEvictsReadingAndBody() {
+        secondNode.put(new LatestReading(CELL_ID, 25.0, 1_000L));
+        secondNodeSerialized.put(CELL_ID, new SerializedReading(new byte[0], "tag", 25.0, 1_000L));
+
+        firstNode.invalidate(CELL_ID);
+
+        assertNull(secondNode.get(CELL_ID));
+        assertNull(secondNodeSerialized.get(CELL_ID));
+    }
+
+    @Test
+    void givenSerializedBodyWhenNewerReadingPublishedLocallyThenBodyIsEvicted() {
+        secondNode.put(new LatestReading(CELL_ID, 25.0, 1_000L));
+        secondNodeSerialized.put(CELL_ID, new SerializedReading(new byte[0], "tag", 25.0, 1_000L));
+
+        secondNode.put(new LatestReading(CELL_ID, 25.0, 1_000L));
+        assertNotNull(secondNodeSerialized.get(CELL_ID));
+
+        secondNode.publish(new LatestReading(CELL_ID, 27.0, 2_000L));
+        assertNull(secondNodeSerialized.get(CELL_ID));
+    }
+
+    @Test
+    void givenEncodedEventWhenDecodedThenRoundTrips() {
+        CacheEvent event = CacheEvent.refresh("node-a", CELL_ID, -3.5, 1_000L);
+
+        assertEquals(event, CacheEvent.decode(event.encode()));
+    }
+}
@@ -0,0 +1,283 @@
+package org.meteoapp.JUnit.cluster;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.meteoapp.cache.CellId;
+import org.meteoapp.cluster.ClusterNode;
+import org.meteoapp.cluster.ClusterRouter;
+import org.meteoapp.cluster.ConsistentHashRing;
+import org.meteoapp.cluster.OwnerBusyException;
+import org.meteoapp.cluster.StaticClusterMembership;
+import org.meteoapp.model.Coordinate;
+import org.meteoapp.model.TemperatureData;
+import org.meteoapp.model.response.CellTemperature;
+import org.meteoapp.model.response.TemperatureResponse;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ClusterRouterTest {
+
+    private static final List<ClusterNode> NODES = List.of(
+            new ClusterNode("node-a", "http://node-a:8080"),
+            new ClusterNode("node-b", "http://node-b:8080"),
+            new ClusterNode("node-c", "http://node-c:8080"));
+
+    @Mock
+    private RestTemplate restTemplate;
+
+    private final Clock clock = Clock.fixed(Instant.now(), ZoneOffset.UTC);
+
+    private final List<ClusterRouter> routers = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        for (ClusterNode node : NODES) {
+            routers.add(new ClusterRouter(new StaticClusterMembership(node.id(), NODES), restTemplate, clock, 64));
+        }
+    }
+
+    @Test
+    void givenInProcessNodesWhenResolvingOwnersThenEachCellHasExactlyOneOwner() {
+        for (int i = 0; i < 1_000; i++) {
+            long cellId = CellId.of(i / 20.0, i / 10.0);
+            long owners = routers.stream().filter(router -> router.isOwner(cellId)).count();
+            assertEquals(1, owners);
+        }
+    }
+
+    @Test
+    void givenNodeJoinsWhenResolvingOwnersThenOnlyAFractionOfCellsMove() {
+        List<ClusterNode> grown = new ArrayList<>(NODES);
+        grown.add(new ClusterNode("node-d", "http://node-d:8080"));
+        ConsistentHashRing before = new ConsistentHashRing(NODES, 64);
+        ConsistentHashRing after = new ConsistentHashRing(grown, 64);
+
+        int moved = 0;
+        for (int i = 0; i < 10_000; i++) {
+            long cellId = CellId.of(i / 200.0, i / 100.0);
+            ClusterNode newOwner = after.ownerOf(cellId);
+            if (!newOwner.equals(before.ownerOf(cellId))) {
+                assertEquals("node-d", newOwner.id());
+                moved++;
+            }
+        }
+        assertTrue(moved > 1_000 && moved < 4_000, "moved " + moved);
+    }
+
+    @Test
+    void givenOwnerWhenRefreshThenFetchesLocally() {
+        long cellId = ownedBy(0);
+
+        Optional<TemperatureData> result = routers.get(0).refresh(cellId, 1.0, 2.0, () -> Optional.of(new TemperatureData()));
+
+        assertTrue(result.isPresent());
+        verifyNoInteractions(restTemplate);
+    }
+
+    @Test
+    void givenNonOwnerWhenRefreshThenForwardsToOwner() {
+        long cellId = ownedBy(0);
+        TemperatureResponse ownerResponse = new TemperatureResponse(1.0, 2.0, 25.0);
+        when(restTemplate.exchange(startsWith("http://node-a:8080/temperature"), eq(HttpMethod.GET), any(HttpEntity.class), eq(TemperatureResponse.class)))
+                .thenReturn(ResponseEntity.ok(ownerResponse));
+
+        Optional<TemperatureData> result = routers.get(1).refresh(cellId, 1.0, 2.0, () -> fail("non-owner must not fetch"));
+
+        assertTrue(result.isPresent());
+        assertEquals(25.0, result.get().getTemperature());
+    }
+
+    @Test
+    void givenOwnerUnavailableWhenRefreshThenFetchesLocally() {
+        long cellId = ownedBy(0);
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.GET), any(HttpEntity.class), eq(TemperatureResponse.class)))
+                .thenThrow(new ResourceAccessException("connection refused"));
+
+        Optional<TemperatureData> result = routers.get(1).refresh(cellId, 1.0, 2.0, () -> Optional.of(new TemperatureData()));
+
+        assertTrue(result.isPresent());
+    }
+
+    @Test
+    void givenOwnerSheddingWhenRefreshThenDoesNotFetchLocally() {
+        long cellId = ownedBy(0);
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, "3");
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.GET), any(HttpEntity.class), eq(TemperatureResponse.class)))
+                .thenThrow(HttpServerErrorException.create(HttpStatus.SERVICE_UNAVAILABLE, "Service Unavailable", headers, new byte[0], null));
+
+        OwnerBusyException e = assertThrows(OwnerBusyException.class,
+                () -> routers.get(1).refresh(cellId, 1.0, 2.0, () -> fail("non-owner must not fetch while the owner sheds")));
+        assertEquals(3, e.getRetryAfterSeconds());
+    }
+
+    @Test
+    void givenConcurrentCallersWhenRefreshThenFetchesOnce() throws Exception {
+        long cellId = ownedBy(0);
+        AtomicInteger fetches = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Optional<TemperatureData>>> results = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                results.add(executor.submit(() -> routers.get(0).refresh(cellId, 1.0, 2.0, () -> {
+                    fetches.incrementAndGet();
+                    try {
+                        release.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return Optional.of(new TemperatureData());
+                })));
+            }
+            Thread.sleep(200);
+            release.countDown();
+            for (Future<Optional<TemperatureData>> result : results) {
+                assertTrue(result.get(5, TimeUnit.SECONDS).isPresent());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(1, fetches.get());
+    }
+
+    @Test
+    void givenCellAlreadyInFlightWhenRefreshAllThenFetchesOnlyUnclaimedCellsAndWaitsForTheRest() throws Exception {
+        ClusterRouter router = new ClusterRouter(new StaticClusterMembership("local", List.of()), restTemplate, clock, 64);
+        Coordinate pending = new Coordinate(1.0, 2.0);
+        Coordinate free = new Coordinate(3.0, 4.0);
+        CountDownLatch fetching = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<Optional<TemperatureData>> point = executor.submit(() -> router.refresh(
+                    CellId.of(pending.latitude(), pending.longitude()), pending.latitude(), pending.longitude(), () -> {
+                        fetching.countDown();
+                        try {
+                            release.await(5, TimeUnit.SECONDS);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                        return Optional.of(data(pending, 20.0));
+                    }));
+            assertTrue(fetching.await(5, TimeUnit.SECONDS));
+
+            List<List<Coordinate>> batches = new ArrayList<>();
+            Future<List<TemperatureData>> grid = executor.submit(() -> router.refreshAll(List.of(pending, free), batch -> {
+                batches.add(batch);
+                return batch.stream().map(coordinate -> data(coordinate, 25.0)).toList();
+            }));
+            Thread.sleep(200);
+            assertFalse(grid.isDone());
+            release.countDown();
+
+            assertEquals(List.of(20.0, 25.0), grid.get(5, TimeUnit.SECONDS).stream().map(TemperatureData::getTemperature).sorted().toList());
+            assertEquals(List.of(List.of(free)), batches);
+            assertTrue(point.get(5, TimeUnit.SECONDS).isPresent());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void givenCellsOfSeveralOwnersWhenGroupByOwnerThenEachCellIsKeyedByItsOwner() {
+        List<Coordinate> coordinates = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            coordinates.add(new Coordinate(i / 20.0, i / 10.0));
+        }
+
+        Map<ClusterNode, List<Coordinate>> groups = routers.get(1).groupByOwner(coordinates);
+
+        assertEquals(coordinates.size(), groups.values().stream().mapToInt(List::size).sum());
+        groups.forEach((owner, cells) -> cells.forEach(cell ->
+                assertEquals(owner.id(), routers.get(1).ownerOf(CellId.of(cell.latitude(), cell.longitude())).id())));
+    }
+
+    @Test
+    void givenOwnerUnavailableWhenForwardAllThenReturnsNoCells() {
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.POST), any(HttpEntity.class), eq(CellTemperature[].class)))
+                .thenThrow(new ResourceAccessException("connection refused"));
+
+        assertTrue(routers.get(1).forwardAll(NODES.get(0), List.of(new Coordinate(1.0, 2.0))).isEmpty());
+    }
+
+    @Test
+    void givenSecretConfiguredWhenForwardedHeaderLacksTokenThenRequestIsNotTreatedAsForwarded() {
+        ClusterRouter router = new ClusterRouter(new StaticClusterMembership("node-b", NODES), restTemplate, clock, 64, "peer-secret");
+        MockHttpServletRequest spoofed = new MockHttpServletRequest();
+        spoofed.addHeader(ClusterRouter.FORWARDED_HEADER, "node-a");
+        MockHttpServletRequest verified = new MockHttpServletRequest();
+        verified.addHeader(ClusterRouter.FORWARDED_HEADER, "node-a");
+        verified.addHeader(ClusterRouter.PEER_TOKEN_HEADER, "peer-secret");
+
+        assertFalse(router.isForwarded(spoofed));
+        assertTrue(router.isForwarded(verified));
+        assertTrue(routers.get(1).isForwarded(spoofed));
+    }
+
+    @Test
+    void givenSpoofedForwardedHeaderWhenNonOwnerRefreshesThenStillForwardsToOwner() {
+        ClusterRouter router = new ClusterRouter(new StaticClusterMembership("node-b", NODES), restTemplate, clock, 64, "peer-secret");
+        long cellId = ownedBy(0);
+        when(restTemplate.exchange(startsWith("http://node-a:8080/temperature"), eq(HttpMethod.GET), any(HttpEntity.class), eq(TemperatureResponse.class)))
+                .thenReturn(ResponseEntity.ok(new TemperatureResponse(1.0, 2.0, 25.0)));
+        MockHttpServletRequest spoofed = new MockHttpServletRequest();
+        spoofed.addHeader(ClusterRouter.FORWARDED_HEADER, "node-a");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(spoofed));
+        try {
+            Optional<TemperatureData> result = router.refresh(cellId, 1.0, 2.0, () -> fail("spoofed forward must not fetch locally"));
+
+            assertEquals(25.0, result.orElseThrow().getTemperature());
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+    }
+
+    private static TemperatureData data(Coordinate coordinate, double temperature) {
+        TemperatureData data = new TemperatureData();
+        data.setLatitude(coordinate.latitude());
+        data.setLongitude(coordinate.longitude());
+        data.setTemperature(temperature);
+        return data;
+    }
+
+    private long ownedBy(int nodeIndex) {
+        for (int i = 0; ; i++) {
+            long cellId = CellId.of(i / 20.0, i / 10.0);
+            if (routers.get(nodeIndex).isOwner(cellId)) {
+                return cellId;
+            }
+        }
+    }
+}
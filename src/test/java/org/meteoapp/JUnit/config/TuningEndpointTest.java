@@ -0,0 +1,83 @@
+package org.meteoapp.JUnit.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.meteoapp.config.MeteoProperties;
+import org.meteoapp.config.TuningEndpoint;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TuningEndpointTest {
+
+    private MeteoProperties properties;
+    private TuningEndpoint endpoint;
+
+    @BeforeEach
+    void setUp() {
+        StandardEnvironment environment = new StandardEnvironment();
+        environment.getPropertySources().addLast(new MapPropertySource("application",
+                Map.of("meteo.ratelimit.burst", "100", "meteo.store.concurrency", "64")));
+        properties = new MeteoProperties();
+        endpoint = new TuningEndpoint(environment, properties);
+    }
+
+    @Test
+    void givenReloadableKeyWhenUpdateThenLiveInstanceChanges() {
+        endpoint.update("meteo.cache.ttl", "PT30S");
+        endpoint.update("meteo.ratelimit.burst", "10");
+
+        assertEquals(Duration.ofSeconds(30), properties.getCache().getTtl());
+        assertEquals(10, properties.getRatelimit().getBurst());
+    }
+
+    @Test
+    void givenInvalidValueWhenUpdateThenRejectedAndPreviousValueKept() {
+        endpoint.update("meteo.shedding.upstream-share", "0.25");
+
+        assertThrows(InvalidEndpointRequestException.class, () -> endpoint.update("meteo.shedding.upstream-share", "2"));
+        assertThrows(InvalidEndpointRequestException.class, () -> endpoint.update("meteo.cache.ttl", "soon"));
+
+        assertEquals(0.25, properties.getShedding().getUpstreamShare());
+        assertEquals(Duration.ofMinutes(1), properties.getCache().getTtl());
+        endpoint.update("meteo.area.batch-size", "50");
+        assertEquals(0.25, properties.getShedding().getUpstreamShare());
+    }
+
+    @Test
+    void givenRestartOnlyKeyWhenUpdateThenRejected() {
+        assertThrows(InvalidEndpointRequestException.class, () -> endpoint.update("meteo.store.concurrency", "8"));
+        assertEquals(64, properties.getStore().getConcurrency());
+    }
+
+    @Test
+    void givenOverrideWhenResetThenConfiguredValueRestored() {
+        endpoint.update("meteo.cache.ttl", "PT5S");
+        endpoint.update("meteo.ratelimit.burst", "10");
+
+        endpoint.reset("meteo.cache.ttl");
+        endpoint.reset("meteo.ratelimit.burst");
+
+        assertEquals(Duration.ofMinutes(1), properties.getCache().getTtl());
+        assertEquals(100, properties.getRatelimit().getBurst());
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void givenEndpointWhenReadOrUpdatedThenOnlyReloadableValuesAreReturned() {
+        properties.getCluster().setSecret("peer-secret");
+
+        Map<String, Object> updated = endpoint.update("meteo.shedding.upstream-share", "0.25");
+        Map<String, Object> current = (Map<String, Object>) endpoint.tuning().get("current");
+
+        assertEquals(MeteoProperties.RELOADABLE_KEYS, updated.keySet());
+        assertEquals(0.25, updated.get("meteo.shedding.upstream-share"));
+        assertEquals("PT1M", current.get("meteo.cache.ttl"));
+        assertFalse(endpoint.tuning().toString().contains("peer-secret"));
+    }
+}
@@ -0,0 +1,99 @@
+package org.meteoapp.JUnit.controller;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.meteoapp.cache.SerializedReading;
+import org.meteoapp.cluster.ClusterRouter;
+import org.meteoapp.config.ClockConfig;
+import org.meteoapp.config.MeteoProperties;
+import org.meteoapp.controller.TemperatureController;
+import org.meteoapp.kafka.producer.KafkaProducer;
+import org.meteoapp.service.impl.TemperatureServiceImpl;
+import org.meteoapp.throttle.LoadShedder;
+import org.meteoapp.throttle.TokenBucketRateLimiter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(controllers = TemperatureController.class, properties = "meteo.cache.serialized-responses=true")
+@Import({ClockConfig.class, TokenBucketRateLimiter.class, LoadShedder.class})
+@EnableConfigurationProperties(MeteoProperties.class)
+class TemperatureControllerSerializedResponseTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private TemperatureServiceImpl temperatureService;
+
+    @MockBean
+    private KafkaProducer kafkaProducer;
+
+    @MockBean
+    private ClusterRouter clusterRouter;
+
+    private static final double LATITUDE = 40.7128;
+    private static final double LONGITUDE = -74.0060;
+    private static final String BODY = "{\"latitude\":40.7128,\"longitude\":-74.006,\"current_weather\":{\"temperature\":25.0}}";
+
+    private final SerializedReading reading = new SerializedReading(BODY.getBytes(StandardCharsets.UTF_8), "abc-1", 25.0, 1_000L);
+
+    @BeforeEach
+    void setUp() {
+        when(temperatureService.getRemainingFreshness(anyLong())).thenReturn(Duration.ofSeconds(30));
+    }
+
+    @Test
+    void givenSerializedReadingWhenGetTemperatureThenWritesBodyWithETag() throws Exception {
+        when(temperatureService.getSerializedTemperature(LATITUDE, LONGITUDE)).thenReturn(Optional.of(reading));
+
+        mockMvc.perform(get("/temperature")
+                        .param("latitude", String.valueOf(LATITUDE))
+                        .param("longitude", String.valueOf(LONGITUDE)))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"abc-1\""))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=30, public"))
+                .andExpect(jsonPath("$.current_weather.temperature").value(25.0));
+
+        verify(temperatureService, never()).getTemperature(LATITUDE, LONGITUDE);
+        verify(kafkaProducer, times(1)).sendMessage(anyString());
+    }
+
+    @Test
+    void givenMatchingETagWhenGetTemperatureThenReturnsNotModified() throws Exception {
+        when(temperatureService.getSerializedTemperature(LATITUDE, LONGITUDE)).thenReturn(Optional.of(reading));
+
+        mockMvc.perform(get("/temperature")
+                        .param("latitude", String.valueOf(LATITUDE))
+                        .param("longitude", String.valueOf(LONGITUDE))
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"abc-1\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void givenNonExistentCoordinatesWhenGetTemperatureThenReturnsNotFound() throws Exception {
+        when(temperatureService.getSerializedTemperature(LATITUDE, LONGITUDE)).thenReturn(Optional.empty());
+
+        mockMvc.perform(get("/temperature")
+                        .param("latitude", String.valueOf(LATITUDE))
+                        .param("longitude", String.valueOf(LONGITUDE)))
+                .andExpect(status().isNotFound());
+
+        verifyNoInteractions(kafkaProducer);
+    }
+}
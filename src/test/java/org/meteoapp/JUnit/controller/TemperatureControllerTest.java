@@ -2,16 +2,26 @@ package org.meteoapp.JUnit.controller;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.meteoapp.cluster.ClusterRouter;
+import org.meteoapp.config.ClockConfig;
+import org.meteoapp.config.MeteoProperties;
 import org.meteoapp.controller.TemperatureController;
 import org.meteoapp.kafka.producer.KafkaProducer;
 import org.meteoapp.model.response.TemperatureResponse;
 import org.meteoapp.service.impl.TemperatureServiceImpl;
+import org.meteoapp.throttle.LoadShedder;
+import org.meteoapp.throttle.TokenBucketRateLimiter;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Optional;
 
 import static org.mockito.Mockito.*;
@@ -20,6 +30,8 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(TemperatureController.class)
+@Import({ClockConfig.class, TokenBucketRateLimiter.class, LoadShedder.class})
+@EnableConfigurationProperties(MeteoProperties.class)
 class TemperatureControllerTest {
 
     @Autowired
@@ -31,6 +43,9 @@ class TemperatureControllerTest {
     @MockBean
     private KafkaProducer kafkaProducer;
 
+    @MockBean
+    private ClusterRouter clusterRouter;
+
     private static final double LATITUDE = 40.7128;
     private static final double LONGITUDE = -74.0060;
 
@@ -59,6 +74,48 @@ class TemperatureControllerTest {
         verify(kafkaProducer, times(1)).sendMessage(anyString());
     }
 
+    @Test
+    void givenTimestampedResponseWhenGetTemperatureThenSetsCachingHeaders() throws Exception {
+        sampleResponse.setLastModified(Instant.parse("2024-08-01T10:15:30Z"));
+        when(temperatureService.getTemperature(LATITUDE, LONGITUDE)).thenReturn(Optional.of(sampleResponse));
+        when(temperatureService.getRemainingFreshness(anyLong())).thenReturn(Duration.ofSeconds(42));
+
+        mockMvc.perform(get("/temperature")
+                        .param("latitude", String.valueOf(LATITUDE))
+                        .param("longitude", String.valueOf(LONGITUDE)))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andExpect(header().string(HttpHeaders.LAST_MODIFIED, "Thu, 01 Aug 2024 10:15:30 GMT"))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=42, public"));
+    }
+
+    @Test
+    void givenExpiredResponseWhenGetTemperatureThenRequiresRevalidation() throws Exception {
+        sampleResponse.setLastModified(Instant.parse("2024-08-01T10:15:30Z"));
+        when(temperatureService.getTemperature(LATITUDE, LONGITUDE)).thenReturn(Optional.of(sampleResponse));
+        when(temperatureService.getRemainingFreshness(anyLong())).thenReturn(Duration.ZERO);
+
+        mockMvc.perform(get("/temperature")
+                        .param("latitude", String.valueOf(LATITUDE))
+                        .param("longitude", String.valueOf(LONGITUDE)))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=0, must-revalidate"));
+    }
+
+    @Test
+    void givenUnchangedReadingWhenGetTemperatureWithIfModifiedSinceThenReturnsNotModified() throws Exception {
+        sampleResponse.setLastModified(Instant.parse("2024-08-01T10:15:30Z"));
+        when(temperatureService.getTemperature(LATITUDE, LONGITUDE)).thenReturn(Optional.of(sampleResponse));
+        when(temperatureService.getRemainingFreshness(anyLong())).thenReturn(Duration.ofSeconds(42));
+
+        mockMvc.perform(get("/temperature")
+                        .param("latitude", String.valueOf(LATITUDE))
+                        .param("longitude", String.valueOf(LONGITUDE))
+                        .header(HttpHeaders.IF_MODIFIED_SINCE, "Thu, 01 Aug 2024 10:15:30 GMT"))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
     @Test
     void givenNonExistentCoordinatesWhenGetTemperatureThenReturnsNotFound() throws Exception {
         when(temperatureService.getTemperature(LATITUDE, LONGITUDE)).thenReturn(Optional.empty());
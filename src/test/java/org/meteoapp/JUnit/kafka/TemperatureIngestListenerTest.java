@@ -0,0 +1,61 @@
+package org.meteoapp.JUnit.kafka;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.meteoapp.kafka.consumer.TemperatureIngestListener;
+import org.meteoapp.model.request.TemperatureIngestRequest;
+import org.meteoapp.model.response.IngestResponse;
+import org.meteoapp.service.TemperatureIngestService;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class TemperatureIngestListenerTest {
+
+    @Mock
+    private TemperatureIngestService ingestService;
+
+    private TemperatureIngestListener listener;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        listener = new TemperatureIngestListener(ingestService, new ObjectMapper().findAndRegisterModules());
+        doThrow(new IllegalArgumentException("Latitude out of range."))
+                .when(ingestService).validateReading(argThat(reading -> reading.getLatitude() > 90));
+        when(ingestService.ingest(anyList())).thenReturn(CompletableFuture.completedFuture(new IngestResponse(2, List.of())));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void givenInvalidAndMalformedMessagesWhenOnMessagesThenIngestsOnlyValidReadings() {
+        listener.onMessages(List.of(
+                "{\"latitude\":40.7,\"longitude\":-74.0,\"temperature\":21.5}",
+                "{\"latitude\":120.0,\"longitude\":-74.0,\"temperature\":21.5}",
+                "not json",
+                "{\"latitude\":51.5,\"longitude\":-0.1,\"temperature\":18.0}"));
+
+        ArgumentCaptor<List<TemperatureIngestRequest>> captor = ArgumentCaptor.forClass(List.class);
+        verify(ingestService).ingest(captor.capture());
+        assertEquals(List.of(40.7, 51.5), captor.getValue().stream().map(TemperatureIngestRequest::getLatitude).toList());
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void givenTimestampWithOffsetWhenOnMessagesThenReadingKeepsTheInstant() {
+        listener.onMessages(List.of("{\"latitude\":40.7,\"longitude\":-74.0,\"temperature\":21.5,\"timestamp\":\"2024-08-01T12:00:00+02:00\"}"));
+
+        ArgumentCaptor<List<TemperatureIngestRequest>> captor = ArgumentCaptor.forClass(List.class);
+        verify(ingestService).ingest(captor.capture());
+        assertEquals(Instant.parse("2024-08-01T10:00:00Z"), captor.getValue().get(0).getTimestamp());
+    }
+}
@@ -0,0 +1,127 @@
+package org.meteoapp.JUnit.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.meteoapp.config.MeteoProperties;
+import org.meteoapp.forecast.ColumnarForecast;
+import org.meteoapp.forecast.ForecastStore;
+import org.meteoapp.model.response.ForecastApiResponse;
+import org.meteoapp.model.response.ForecastResponse;
+import org.meteoapp.service.impl.ForecastServiceImpl;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalDouble;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ForecastServiceTest {
+
+    private static final double LATITUDE = 40.7128;
+    private static final double LONGITUDE = -74.0060;
+    private static final long HOUR = 3600;
+    private static final long START = 1_722_500_000L / HOUR * HOUR;
+
+    @Mock
+    private RestTemplate restTemplate;
+
+    private ForecastServiceImpl forecastService;
+
+    private ForecastApiResponse apiResponse;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+
+        Clock clock = Clock.fixed(Instant.ofEpochSecond(START + HOUR + HOUR / 2), ZoneOffset.UTC);
+        MeteoProperties properties = new MeteoProperties();
+        properties.getForecast().setRefreshInterval(Duration.ofHours(1));
+        properties.getForecast().setDays(1);
+        forecastService = new ForecastServiceImpl(new ForecastStore(16), restTemplate, clock, properties);
+
+        ForecastApiResponse.Hourly hourly = new ForecastApiResponse.Hourly();
+        hourly.setTime(List.of(START, START + HOUR, START + 2 * HOUR, START + 3 * HOUR));
+        hourly.setTemperature(List.of(10.0, 12.0, 14.0, 16.0));
+        hourly.setWindSpeed(List.of(5.0, 6.0, 7.0, 8.0));
+        hourly.setWindDirection(List.of(90.0, 180.0, 270.0, 360.0));
+        hourly.setWeatherCode(Arrays.asList(0, 1, null, 3));
+        apiResponse = new ForecastApiResponse();
+        apiResponse.setHourly(hourly);
+
+        when(restTemplate.getForObject(anyString(), eq(ForecastApiResponse.class))).thenReturn(apiResponse);
+    }
+
+    @Test
+    void givenHourlyForecastWhenGetCurrentTemperatureThenInterpolatesBetweenHours() {
+        OptionalDouble temperature = forecastService.getCurrentTemperature(LATITUDE, LONGITUDE);
+
+        assertTrue(temperature.isPresent());
+        assertEquals(13.0, temperature.getAsDouble());
+    }
+
+    @Test
+    void givenForecastAlreadyLoadedWhenQueriedAgainThenServesLocalCopy() {
+        forecastService.getCurrentTemperature(LATITUDE, LONGITUDE);
+        forecastService.getForecastResponse(LATITUDE, LONGITUDE, 24);
+        forecastService.getCurrentTemperature(LATITUDE, LONGITUDE);
+
+        verify(restTemplate, times(1)).getForObject(anyString(), eq(ForecastApiResponse.class));
+    }
+
+    @Test
+    void givenConcurrentCallersWhenForecastMissingThenFetchesOnce() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        when(restTemplate.getForObject(anyString(), eq(ForecastApiResponse.class))).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return apiResponse;
+        });
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Optional<ColumnarForecast>>> results = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                results.add(executor.submit(() -> forecastService.getForecast(LATITUDE, LONGITUDE)));
+            }
+            Thread.sleep(200);
+            release.countDown();
+            for (Future<Optional<ColumnarForecast>> result : results) {
+                assertTrue(result.get(5, TimeUnit.SECONDS).isPresent());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        verify(restTemplate, times(1)).getForObject(anyString(), eq(ForecastApiResponse.class));
+    }
+
+    @Test
+    void givenHoursWhenGetForecastResponseThenReturnsColumnsFromCurrentHour() {
+        Optional<ForecastResponse> response = forecastService.getForecastResponse(LATITUDE, LONGITUDE, 2);
+
+        assertTrue(response.isPresent());
+        ForecastResponse.Hourly hourly = response.get().getHourly();
+        assertArrayEquals(new long[]{START + HOUR, START + 2 * HOUR}, hourly.getTime());
+        assertArrayEquals(new float[]{12f, 14f}, hourly.getTemperature());
+        assertArrayEquals(new short[]{1, -1}, hourly.getWeatherCode());
+        assertEquals(6f, response.get().getCurrentWeather().getWindSpeed());
+    }
+
+    @Test
+    void givenNonPositiveHoursWhenGetForecastResponseThenThrowsException() {
+        assertThrows(IllegalArgumentException.class, () -> forecastService.getForecastResponse(LATITUDE, LONGITUDE, 0));
+    }
+}
@@ -0,0 +1,102 @@
+package org.meteoapp.JUnit.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.meteoapp.model.ExportFormat;
+import org.meteoapp.model.TemperatureData;
+import org.meteoapp.repository.TemperatureRepository;
+import org.meteoapp.service.impl.TemperatureExportServiceImpl;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class TemperatureExportServiceTest {
+
+    private static final String ID = "66b0c0ffee0000000000abcd";
+    private static final LocalDateTime TIMESTAMP = LocalDateTime.of(2024, 8, 1, 12, 0);
+
+    @Mock
+    private TemperatureRepository repository;
+
+    private TemperatureExportServiceImpl exportService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        exportService = new TemperatureExportServiceImpl(repository, new ObjectMapper(), Clock.system(ZoneOffset.UTC), 2, 512);
+    }
+
+    @Test
+    void givenStoredDataWhenExportNdjsonThenWritesOneObjectPerLine() throws Exception {
+        when(repository.streamOrderedById(isNull(), isNull(), isNull(), eq(0), eq(2))).thenReturn(Stream.of(data(), data()));
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        long count = exportService.export(ExportFormat.NDJSON, null, null, null, 0, output);
+
+        String[] lines = output.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, count);
+        assertEquals(2, lines.length);
+        String line = "{\"id\":\"" + ID + "\",\"latitude\":40.7128,\"longitude\":-74.006,\"temperature\":25.0,\"timestamp\":\"2024-08-01T12:00\"}";
+        assertEquals(line, lines[0]);
+        assertEquals(line, lines[1]);
+    }
+
+    @Test
+    void givenStoredDataWhenExportCsvThenWritesHeaderAndRows() throws Exception {
+        when(repository.streamOrderedById(any(), any(), any(), anyInt(), anyInt())).thenReturn(Stream.of(data()));
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        exportService.export(ExportFormat.CSV, null, null, null, 0, output);
+
+        assertEquals("id,latitude,longitude,temperature,timestamp\n" + ID + ",40.7128,-74.006,25.0,2024-08-01T12:00\n",
+                output.toString(StandardCharsets.US_ASCII));
+    }
+
+    @Test
+    void givenStoredDataWhenExportBinaryThenWritesFixedSizeRecords() throws Exception {
+        when(repository.streamOrderedById(eq(ID), any(), any(), anyInt(), anyInt())).thenReturn(Stream.of(data()));
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        exportService.export(ExportFormat.BINARY, ID, null, null, 0, output);
+
+        ByteBuffer record = ByteBuffer.wrap(output.toByteArray()).order(ByteOrder.LITTLE_ENDIAN);
+        assertEquals(40, record.remaining());
+        byte[] id = new byte[12];
+        record.get(id);
+        assertEquals(ID, new ObjectId(id).toHexString());
+        assertEquals(40.7128, record.getDouble());
+        assertEquals(-74.006, record.getDouble());
+        assertEquals(25.0f, record.getFloat());
+        assertEquals(TIMESTAMP.toInstant(ZoneOffset.UTC).toEpochMilli(), record.getLong());
+    }
+
+    @Test
+    void givenInvalidCursorWhenExportThenThrowsException() {
+        assertThrows(IllegalArgumentException.class,
+                () -> exportService.export(ExportFormat.NDJSON, "not-an-id", null, null, 0, new ByteArrayOutputStream()));
+        verifyNoInteractions(repository);
+    }
+
+    private static TemperatureData data() {
+        TemperatureData data = new TemperatureData();
+        data.setId(ID);
+        data.setLatitude(40.7128);
+        data.setLongitude(-74.006);
+        data.setTemperature(25.0);
+        data.setTimestamp(TIMESTAMP);
+        return data;
+    }
+}
@@ -0,0 +1,192 @@
+package org.meteoapp.JUnit.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.meteoapp.cache.CellId;
+import org.meteoapp.cache.LatestReading;
+import org.meteoapp.cache.LatestReadingStore;
+import org.meteoapp.cache.NearCacheReadingCache;
+import org.meteoapp.cache.SerializedResponseCache;
+import org.meteoapp.cache.event.LocalCacheEventBus;
+import org.meteoapp.cluster.ClusterNode;
+import org.meteoapp.cluster.ClusterRouter;
+import org.meteoapp.config.MeteoProperties;
+import org.meteoapp.model.Coordinate;
+import org.meteoapp.model.TemperatureData;
+import org.meteoapp.model.response.CellTemperature;
+import org.meteoapp.model.response.TemperatureGridResponse;
+import org.meteoapp.repository.TemperatureRepository;
+import org.meteoapp.service.TemperatureService;
+import org.meteoapp.service.impl.TemperatureGridServiceImpl;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class TemperatureGridServiceTest {
+
+    private static final ClusterNode SELF = new ClusterNode("local", null);
+    private static final ClusterNode PEER = new ClusterNode("peer", "http://peer:8080");
+
+    @Mock
+    private TemperatureRepository repository;
+
+    @Mock
+    private TemperatureService temperatureService;
+
+    @Mock
+    private ClusterRouter clusterRouter;
+
+    private NearCacheReadingCache readingCache;
+
+    private TemperatureGridServiceImpl gridService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        readingCache = new NearCacheReadingCache(new LatestReadingStore(16, 1), new SerializedResponseCache(16), new LocalCacheEventBus());
+        MeteoProperties properties = new MeteoProperties();
+        properties.getArea().setMaxCells(100);
+        properties.getArea().setMaxUpstreamCells(10);
+        properties.getArea().setBatchSize(2);
+        properties.getArea().setParallelism(2);
+        when(clusterRouter.groupByOwner(anyList())).thenAnswer(invocation -> Map.of(SELF, invocation.getArgument(0)));
+        when(clusterRouter.isSelf(SELF)).thenReturn(true);
+        when(clusterRouter.refreshAll(anyList(), any())).thenAnswer(invocation ->
+                invocation.<Function<List<Coordinate>, List<TemperatureData>>>getArgument(1).apply(invocation.getArgument(0)));
+        gridService = new TemperatureGridServiceImpl(readingCache, repository, temperatureService, clusterRouter, properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        gridService.shutdown();
+    }
+
+    @Test
+    void givenCachedAndMissingCellsWhenGetTemperatureGridThenFillsMissingCellsInBatches() {
+        readingCache.put(new LatestReading(CellId.of(40.0, -74.0), 20.0, 1_000L));
+        when(temperatureService.isReadingStale(any(LatestReading.class))).thenReturn(false);
+        when(repository.findByCoordinates(anyCollection())).thenReturn(List.of());
+        when(temperatureService.fetchAndSaveTemperatureData(anyList())).thenAnswer(invocation -> {
+            List<Coordinate> batch = invocation.getArgument(0);
+            return batch.stream().map(coordinate -> reading(coordinate, 25.0)).toList();
+        });
+
+        TemperatureGridResponse grid = gridService.getTemperatureGrid(39.9, -74.05, 40.6, -73.4, 0.5);
+
+        assertEquals(2, grid.getRows());
+        assertEquals(2, grid.getColumns());
+        assertEquals(40.0, grid.getMinLatitude());
+        assertEquals(-74.0, grid.getMinLongitude());
+        assertArrayEquals(new Float[]{20f, 25f, 25f, 25f}, grid.getTemperatures());
+        verify(temperatureService, times(2)).fetchAndSaveTemperatureData(anyList());
+    }
+
+    @Test
+    void givenCellsOwnedByOtherNodeWhenGetTemperatureGridThenFetchesOwnCellsAndForwardsOneBatchToOwner() {
+        List<Coordinate> owned = List.of(new Coordinate(40.0, -74.0), new Coordinate(40.5, -73.5));
+        List<Coordinate> forwarded = List.of(new Coordinate(40.0, -73.5), new Coordinate(40.5, -74.0));
+        when(repository.findByCoordinates(anyCollection())).thenReturn(List.of());
+        Map<ClusterNode, List<Coordinate>> groups = new LinkedHashMap<>();
+        groups.put(SELF, owned);
+        groups.put(PEER, forwarded);
+        when(clusterRouter.groupByOwner(anyList())).thenReturn(groups);
+        when(clusterRouter.forwardAll(PEER, forwarded)).thenReturn(forwarded.stream()
+                .map(coordinate -> new CellTemperature(coordinate.latitude(), coordinate.longitude(), 22.0)).toList());
+        when(temperatureService.fetchAndSaveTemperatureData(anyList())).thenAnswer(invocation -> {
+            List<Coordinate> batch = invocation.getArgument(0);
+            return batch.stream().map(coordinate -> reading(coordinate, 25.0)).toList();
+        });
+
+        TemperatureGridResponse grid = gridService.getTemperatureGrid(40.0, -74.0, 40.5, -73.5, 0.5);
+
+        assertArrayEquals(new Float[]{25f, 22f, 22f, 25f}, grid.getTemperatures());
+        verify(temperatureService).fetchAndSaveTemperatureData(owned);
+        verify(clusterRouter, times(1)).forwardAll(any(), anyList());
+    }
+
+    @Test
+    void givenOwnerFailsWhenGetTemperatureGridThenOnlyItsCellsStayEmpty() {
+        List<Coordinate> forwarded = List.of(new Coordinate(40.0, -73.5), new Coordinate(40.5, -74.0));
+        when(repository.findByCoordinates(anyCollection())).thenReturn(List.of());
+        Map<ClusterNode, List<Coordinate>> groups = new LinkedHashMap<>();
+        groups.put(SELF, List.of(new Coordinate(40.0, -74.0), new Coordinate(40.5, -73.5)));
+        groups.put(PEER, forwarded);
+        when(clusterRouter.groupByOwner(anyList())).thenReturn(groups);
+        when(clusterRouter.forwardAll(PEER, forwarded)).thenReturn(List.of());
+        when(temperatureService.fetchAndSaveTemperatureData(anyList())).thenAnswer(invocation -> {
+            List<Coordinate> batch = invocation.getArgument(0);
+            return batch.stream().map(coordinate -> reading(coordinate, 25.0)).toList();
+        });
+
+        TemperatureGridResponse grid = gridService.getTemperatureGrid(40.0, -74.0, 40.5, -73.5, 0.5);
+
+        assertArrayEquals(new Float[]{25f, null, null, 25f}, grid.getTemperatures());
+    }
+
+    @Test
+    void givenCellsFromPeerWhenGetTemperaturesThenResolvesLocallyWithoutForwarding() {
+        readingCache.put(new LatestReading(CellId.of(40.0, -74.0), 20.0, 1_000L));
+        when(temperatureService.isReadingStale(any(LatestReading.class))).thenReturn(false);
+        when(repository.findByCoordinates(anyCollection())).thenReturn(List.of());
+        when(temperatureService.fetchAndSaveTemperatureData(anyList())).thenAnswer(invocation -> {
+            List<Coordinate> batch = invocation.getArgument(0);
+            return batch.stream().map(coordinate -> reading(coordinate, 25.0)).toList();
+        });
+
+        List<CellTemperature> cells = gridService.getTemperatures(List.of(new Coordinate(40.0, -74.0), new Coordinate(40.5, -73.5)));
+
+        assertEquals(List.of(new CellTemperature(40.0, -74.0, 20.0), new CellTemperature(40.5, -73.5, 25.0)), cells);
+        verify(clusterRouter, never()).groupByOwner(anyList());
+        verify(clusterRouter, never()).forwardAll(any(), anyList());
+    }
+
+    @Test
+    void givenGridWhenToBinaryThenWritesHeaderAndLittleEndianFloats() {
+        TemperatureGridResponse grid = new TemperatureGridResponse();
+        grid.setRows(1);
+        grid.setColumns(2);
+        grid.setMinLatitude(40.0);
+        grid.setMinLongitude(-74.0);
+        grid.setResolution(0.5);
+        grid.setTemperatures(new Float[]{20f, null});
+
+        ByteBuffer buffer = ByteBuffer.wrap(gridService.toBinary(grid)).order(ByteOrder.LITTLE_ENDIAN);
+
+        assertEquals(1, buffer.getInt());
+        assertEquals(2, buffer.getInt());
+        assertEquals(40.0, buffer.getDouble());
+        assertEquals(-74.0, buffer.getDouble());
+        assertEquals(0.5, buffer.getDouble());
+        assertEquals(20f, buffer.getFloat());
+        assertTrue(Float.isNaN(buffer.getFloat()));
+    }
+
+    @Test
+    void givenTooManyCellsWhenGetTemperatureGridThenThrowsException() {
+        assertThrows(IllegalArgumentException.class, () -> gridService.getTemperatureGrid(-90, -180, 90, 180, 1));
+    }
+
+    @Test
+    void givenResolutionWhoseCellCountOverflowsWhenGetTemperatureGridThenThrowsException() {
+        assertThrows(IllegalArgumentException.class, () -> gridService.getTemperatureGrid(-90, -180, 90, 180, 1e-9));
+        verifyNoInteractions(repository, temperatureService);
+    }
+
+    private static TemperatureData reading(Coordinate coordinate, double temperature) {
+        TemperatureData data = new TemperatureData();
+        data.setLatitude(coordinate.latitude());
+        data.setLongitude(coordinate.longitude());
+        data.setTemperature(temperature);
+        return data;
+    }
+}
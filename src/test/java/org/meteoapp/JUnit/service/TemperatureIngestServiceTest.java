@@ -0,0 +1,163 @@
+package org.meteoapp.JUnit.service;
+
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.bulk.BulkWriteUpsert;
+import org.bson.BsonObjectId;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.meteoapp.cache.CellId;
+import org.meteoapp.cache.ReadingCache;
+import org.meteoapp.model.TemperatureData;
+import org.meteoapp.model.request.TemperatureIngestRequest;
+import org.meteoapp.model.response.IngestResponse;
+import org.meteoapp.service.TemperatureService;
+import org.meteoapp.service.impl.TemperatureIngestServiceImpl;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class TemperatureIngestServiceTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private BulkOperations bulkOperations;
+
+    @Mock
+    private BulkWriteResult bulkWriteResult;
+
+    @Mock
+    private ReadingCache readingCache;
+
+    @Mock
+    private TemperatureService temperatureService;
+
+    private TemperatureIngestServiceImpl ingestService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, TemperatureData.class)).thenReturn(bulkOperations);
+        when(bulkOperations.execute()).thenReturn(bulkWriteResult);
+        when(bulkWriteResult.getUpserts()).thenReturn(List.of(new BulkWriteUpsert(0, new BsonObjectId())));
+        when(bulkWriteResult.getMatchedCount()).thenReturn(1);
+        when(bulkWriteResult.getModifiedCount()).thenReturn(1);
+        ingestService = new TemperatureIngestServiceImpl(mongoTemplate, readingCache, temperatureService, Clock.systemUTC(),
+                2, Duration.ofMillis(50), 1, 10, Duration.ofSeconds(30));
+    }
+
+    @AfterEach
+    void tearDown() {
+        ingestService.shutdown();
+    }
+
+    @Test
+    void givenReadingsWhenIngestThenFlushesFullBatchAndRemainderAfterInterval() throws Exception {
+        IngestResponse response = ingestService.ingest(List.of(reading(40.0, 20.0), reading(41.0, 21.0), reading(42.0, 22.0)))
+                .get(5, TimeUnit.SECONDS);
+
+        assertEquals(3, response.getAccepted());
+        assertEquals(0, response.getFailed());
+        assertEquals(2, response.getBatches().size());
+        assertEquals(2, response.getBatches().get(0).readings());
+        assertEquals(1, response.getBatches().get(1).readings());
+        verify(bulkOperations, times(3)).upsert(any(Query.class), any(AggregationUpdate.class));
+        verify(bulkOperations, times(2)).execute();
+        verify(readingCache, times(3)).publish(any());
+    }
+
+    @Test
+    void givenSameCellTwiceInBatchWhenIngestThenUpsertsNewestReadingOnce() throws Exception {
+        TemperatureIngestRequest older = reading(40.0, 20.0);
+        older.setTimestamp(Instant.parse("2024-08-01T12:00:00Z"));
+        TemperatureIngestRequest newer = reading(40.0, 25.0);
+        newer.setTimestamp(Instant.parse("2024-08-01T12:05:00Z"));
+
+        ingestService.ingest(List.of(newer, older)).get(5, TimeUnit.SECONDS);
+
+        verify(bulkOperations, times(1)).upsert(any(Query.class), any(AggregationUpdate.class));
+        verify(readingCache).publish(argThat(reading -> reading.cellId() == CellId.of(40.0, -74.0) && reading.temperature() == 25.0));
+    }
+
+    @Test
+    void givenReadingWhenIngestThenUpsertOnlyReplacesOlderDocuments() throws Exception {
+        ingestService.ingest(List.of(reading(40.0, 20.0))).get(5, TimeUnit.SECONDS);
+
+        ArgumentCaptor<AggregationUpdate> update = ArgumentCaptor.forClass(AggregationUpdate.class);
+        verify(bulkOperations).upsert(any(Query.class), update.capture());
+        String pipeline = update.getValue().toPipeline(Aggregation.DEFAULT_CONTEXT).toString();
+        assertTrue(pipeline.contains("$cond"));
+        assertTrue(pipeline.contains("$lte"));
+    }
+
+    @Test
+    void givenStoredReadingNewerWhenIngestThenPublishesStoredReading() throws Exception {
+        when(bulkWriteResult.getModifiedCount()).thenReturn(0);
+        TemperatureData stored = new TemperatureData();
+        stored.setLatitude(41.0);
+        stored.setLongitude(-74.0);
+        stored.setTemperature(30.0);
+        stored.setTimestamp(LocalDateTime.of(2024, 8, 1, 12, 0));
+        when(mongoTemplate.find(any(Query.class), eq(TemperatureData.class))).thenReturn(List.of(stored));
+
+        ingestService.ingest(List.of(reading(40.0, 20.0), reading(41.0, 21.0))).get(5, TimeUnit.SECONDS);
+
+        verify(readingCache).publish(argThat(reading -> reading.cellId() == CellId.of(40.0, -74.0) && reading.temperature() == 20.0));
+        verify(readingCache).publish(argThat(reading -> reading.cellId() == CellId.of(41.0, -74.0) && reading.temperature() == 30.0));
+        verify(readingCache, never()).publish(argThat(reading -> reading.temperature() == 21.0));
+    }
+
+    @Test
+    void givenFailingWriteWhenIngestThenReportsBatchAsFailed() throws Exception {
+        when(bulkOperations.execute()).thenThrow(new IllegalStateException("connection refused"));
+
+        IngestResponse response = ingestService.ingest(List.of(reading(40.0, 20.0), reading(41.0, 21.0))).get(5, TimeUnit.SECONDS);
+
+        assertEquals(2, response.getFailed());
+        assertEquals(List.of("connection refused"), response.getBatches().get(0).errors());
+        verifyNoInteractions(readingCache);
+    }
+
+    @Test
+    void givenReadingStampedAheadOfClockWhenIngestThenThrowsException() {
+        TemperatureIngestRequest future = reading(40.0, 20.0);
+        future.setTimestamp(Instant.now().plus(Duration.ofMinutes(5)));
+
+        assertThrows(IllegalArgumentException.class, () -> ingestService.ingest(List.of(future)));
+        verifyNoInteractions(mongoTemplate);
+    }
+
+    @Test
+    void givenTooManyReadingsWhenIngestThenThrowsException() {
+        List<TemperatureIngestRequest> readings = Collections.nCopies(11, reading(40.0, 20.0));
+
+        assertThrows(IllegalArgumentException.class, () -> ingestService.ingest(readings));
+        verifyNoInteractions(mongoTemplate);
+    }
+
+    private static TemperatureIngestRequest reading(double latitude, double temperature) {
+        TemperatureIngestRequest reading = new TemperatureIngestRequest();
+        reading.setLatitude(latitude);
+        reading.setLongitude(-74.0);
+        reading.setTemperature(temperature);
+        return reading;
+    }
+}
@@ -1,21 +1,35 @@
 package org.meteoapp.JUnit.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.meteoapp.cache.LatestReadingStore;
+import org.meteoapp.cache.NearCacheReadingCache;
+import org.meteoapp.cache.SerializedReading;
+import org.meteoapp.cache.SerializedResponseCache;
+import org.meteoapp.cache.event.LocalCacheEventBus;
+import org.meteoapp.cluster.ClusterRouter;
+import org.meteoapp.cluster.StaticClusterMembership;
+import org.meteoapp.config.MeteoProperties;
+import org.meteoapp.model.Coordinate;
 import org.meteoapp.model.response.TemperatureResponse;
 import org.meteoapp.service.impl.TemperatureServiceImpl;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.meteoapp.model.TemperatureData;
 import org.meteoapp.repository.TemperatureRepository;
+import org.meteoapp.service.ForecastService;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.web.client.RestTemplate;
 
 import java.time.Clock;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
+import java.util.List;
 import java.util.Optional;
+import java.util.OptionalDouble;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -31,6 +45,9 @@ class TemperatureServiceTest {
     @Mock
     private KafkaTemplate<String, String> kafkaTemplate;
 
+    @Mock
+    private ForecastService forecastService;
+
     private TemperatureServiceImpl temperatureService;
 
     private Clock clock;
@@ -44,7 +61,11 @@ class TemperatureServiceTest {
 
         clock = Clock.fixed(Instant.now(), ZoneOffset.UTC);
 
-        temperatureService = new TemperatureServiceImpl(repository, clock, restTemplate, kafkaTemplate);
+        SerializedResponseCache serializedCache = new SerializedResponseCache(16);
+        NearCacheReadingCache readingCache = new NearCacheReadingCache(new LatestReadingStore(16, 1), serializedCache, new LocalCacheEventBus());
+        ClusterRouter clusterRouter = new ClusterRouter(new StaticClusterMembership("local", List.of()), restTemplate, clock, 16);
+        temperatureService = new TemperatureServiceImpl(repository, clock, restTemplate, kafkaTemplate, readingCache, serializedCache, new ObjectMapper(),
+                clusterRouter, forecastService, new MeteoProperties());
     }
 
     @Test
@@ -65,6 +86,44 @@ class TemperatureServiceTest {
         verifyNoMoreInteractions(repository, restTemplate);
     }
 
+    @Test
+    void givenReadingAlreadyServedWhenGetTemperatureAgainThenSkipsRepository() {
+        TemperatureData data = new TemperatureData();
+        data.setLatitude(LATITUDE);
+        data.setLongitude(LONGITUDE);
+        data.setTemperature(25.0);
+        data.setTimestamp(LocalDateTime.now(clock));
+
+        when(repository.findByLatitudeAndLongitude(LATITUDE, LONGITUDE)).thenReturn(Optional.of(data));
+
+        temperatureService.getTemperature(LATITUDE, LONGITUDE);
+        Optional<TemperatureResponse> result = temperatureService.getTemperature(LATITUDE, LONGITUDE);
+
+        assertTrue(result.isPresent());
+        assertEquals(25.0, result.get().getCurrentWeather().getTemperature());
+        verify(repository, times(1)).findByLatitudeAndLongitude(LATITUDE, LONGITUDE);
+        verifyNoInteractions(restTemplate);
+    }
+
+    @Test
+    void givenReadingAlreadySerializedWhenGetSerializedTemperatureThenReusesBody() {
+        TemperatureData data = new TemperatureData();
+        data.setLatitude(LATITUDE);
+        data.setLongitude(LONGITUDE);
+        data.setTemperature(25.0);
+        data.setTimestamp(LocalDateTime.now(clock));
+
+        when(repository.findByLatitudeAndLongitude(LATITUDE, LONGITUDE)).thenReturn(Optional.of(data));
+
+        SerializedReading first = temperatureService.getSerializedTemperature(LATITUDE, LONGITUDE).orElseThrow();
+        SerializedReading second = temperatureService.getSerializedTemperature(LATITUDE, LONGITUDE).orElseThrow();
+
+        assertSame(first.body(), second.body());
+        assertEquals(first.etag(), second.etag());
+        assertTrue(new String(first.body()).contains("\"current_weather\":{\"temperature\":25.0}"));
+        verify(repository, times(1)).findByLatitudeAndLongitude(LATITUDE, LONGITUDE);
+    }
+
     @Test
     void givenApiCallSuccessfulWhenFetchAndSaveTemperatureDataThenSavesData() {
         TemperatureResponse apiResponse = new TemperatureResponse();
@@ -91,6 +150,39 @@ class TemperatureServiceTest {
         verify(repository, times(1)).save(savedData);
     }
 
+    @Test
+    void givenSeveralLocationsWhenFetchAndSaveTemperatureDataThenUsesOneUpstreamCall() {
+        List<Coordinate> coordinates = List.of(new Coordinate(LATITUDE, LONGITUDE), new Coordinate(51.5072, -0.1276));
+        TemperatureResponse[] apiResponses = {
+                new TemperatureResponse(LATITUDE, LONGITUDE, 30.0),
+                new TemperatureResponse(51.5072, -0.1276, 12.0)
+        };
+        String expectedUrl = String.format("https://api.open-meteo.com/v1/forecast?latitude=%s,%s&longitude=%s,%s&current_weather=true",
+                LATITUDE, 51.5072, LONGITUDE, -0.1276);
+        when(restTemplate.getForObject(eq(expectedUrl), eq(TemperatureResponse[].class))).thenReturn(apiResponses);
+        when(repository.findByCoordinates(coordinates)).thenReturn(List.of());
+
+        List<TemperatureData> result = temperatureService.fetchAndSaveTemperatureData(coordinates);
+
+        assertEquals(2, result.size());
+        assertEquals(12.0, result.get(1).getTemperature());
+        verify(repository, times(1)).saveAll(result);
+        assertEquals(30.0, temperatureService.getTemperature(LATITUDE, LONGITUDE).orElseThrow().getCurrentWeather().getTemperature());
+        verify(repository, never()).findByLatitudeAndLongitude(LATITUDE, LONGITUDE);
+    }
+
+    @Test
+    void givenCurrentFromHourlyWhenFetchAndSaveTemperatureDataThenUsesForecastCopy() {
+        when(forecastService.isCurrentFromHourly()).thenReturn(true);
+        when(forecastService.getCurrentTemperature(LATITUDE, LONGITUDE)).thenReturn(OptionalDouble.of(18.5));
+
+        Optional<TemperatureData> result = temperatureService.fetchAndSaveTemperatureData(LATITUDE, LONGITUDE);
+
+        assertTrue(result.isPresent());
+        assertEquals(18.5, result.get().getTemperature());
+        verifyNoInteractions(restTemplate);
+    }
+
     @Test
     void givenDataStaleWhenGetTemperatureThenFetchesNewData() {
         TemperatureData staleData = new TemperatureData();
@@ -192,6 +284,12 @@ class TemperatureServiceTest {
         assertFalse(temperatureService.isDataStale(freshData));
     }
 
+    @Test
+    void givenRecentReadingWhenGetRemainingFreshnessThenReturnsTimeLeft() {
+        assertEquals(Duration.ofSeconds(45), temperatureService.getRemainingFreshness(clock.millis() - 15_000L));
+        assertEquals(Duration.ZERO, temperatureService.getRemainingFreshness(clock.millis() - 120_000L));
+    }
+
     @Test
     void givenApiCallFailsWhenFetchAndSaveTemperatureDataThenReturnsEmptyOptional() {
         when(restTemplate.getForObject(anyString(), eq(TemperatureData.class))).thenThrow(new RuntimeException("API error"));
@@ -0,0 +1,53 @@
+package org.meteoapp.JUnit.throttle;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.meteoapp.config.MeteoProperties;
+import org.meteoapp.throttle.LoadShedder;
+
+import java.time.Clock;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class LoadShedderTest {
+
+    private Clock clock;
+    private LoadShedder loadShedder;
+
+    @BeforeEach
+    void setUp() {
+        clock = mock(Clock.class);
+        when(clock.millis()).thenReturn(10_000L);
+        MeteoProperties properties = new MeteoProperties();
+        properties.getShedding().setMaxConcurrent(4);
+        properties.getShedding().setUpstreamShare(0.5);
+        properties.getShedding().setLatencyThreshold(Duration.ofSeconds(1));
+        properties.getShedding().setLatencyWindow(Duration.ofSeconds(5));
+        loadShedder = new LoadShedder(clock, properties);
+    }
+
+    @Test
+    void givenUpstreamShareUsedWhenTryAcquireThenOnlyCachedRequestsAreAdmitted() {
+        assertTrue(loadShedder.tryAcquire(LoadShedder.Priority.UPSTREAM));
+        assertTrue(loadShedder.tryAcquire(LoadShedder.Priority.UPSTREAM));
+
+        assertFalse(loadShedder.tryAcquire(LoadShedder.Priority.UPSTREAM));
+        assertTrue(loadShedder.tryAcquire(LoadShedder.Priority.CACHED));
+        assertTrue(loadShedder.tryAcquire(LoadShedder.Priority.CACHED));
+        assertFalse(loadShedder.tryAcquire(LoadShedder.Priority.CACHED));
+    }
+
+    @Test
+    void givenSlowUpstreamWhenTryAcquireThenShedsUpstreamUntilWindowPasses() {
+        loadShedder.tryAcquire(LoadShedder.Priority.UPSTREAM);
+        loadShedder.release(LoadShedder.Priority.UPSTREAM, 3_000);
+
+        assertFalse(loadShedder.tryAcquire(LoadShedder.Priority.UPSTREAM));
+        assertTrue(loadShedder.tryAcquire(LoadShedder.Priority.CACHED));
+
+        when(clock.millis()).thenReturn(16_000L);
+        assertTrue(loadShedder.tryAcquire(LoadShedder.Priority.UPSTREAM));
+    }
+}
@@ -0,0 +1,123 @@
+package org.meteoapp.JUnit.throttle;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.meteoapp.cluster.ClusterRouter;
+import org.meteoapp.cluster.StaticClusterMembership;
+import org.meteoapp.config.MeteoProperties;
+import org.meteoapp.controller.TemperatureExportController;
+import org.meteoapp.service.TemperatureExportService;
+import org.meteoapp.service.TemperatureService;
+import org.meteoapp.throttle.LoadShedder;
+import org.meteoapp.throttle.ThrottlingInterceptor;
+import org.meteoapp.throttle.TokenBucketRateLimiter;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.method.HandlerMethod;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ThrottlingInterceptorTest {
+
+    private static final String SECRET = "peer-secret";
+
+    private LoadShedder loadShedder;
+    private ThrottlingInterceptor interceptor;
+
+    @BeforeEach
+    void setUp() {
+        Clock clock = mock(Clock.class);
+        when(clock.millis()).thenReturn(0L);
+        MeteoProperties properties = new MeteoProperties();
+        properties.getRatelimit().setRequestsPerSecond(1);
+        properties.getRatelimit().setBurst(1);
+        properties.getRatelimit().setApiKeys(Set.of("issued-key"));
+        properties.getShedding().setMaxConcurrent(1);
+        properties.getShedding().setUpstreamShare(1);
+        ClusterRouter clusterRouter = new ClusterRouter(new StaticClusterMembership("local", List.of()), mock(RestTemplate.class), clock, 16, SECRET);
+        loadShedder = new LoadShedder(clock, properties);
+        interceptor = new ThrottlingInterceptor(new TokenBucketRateLimiter(clock, properties), loadShedder,
+                mock(TemperatureService.class), clusterRouter, clock, properties);
+    }
+
+    @Test
+    void givenSpoofedForwardedHeaderWhenLimitExceededThenRejectedWith429() throws Exception {
+        assertTrue(interceptor.preHandle(request(null), new MockHttpServletResponse(), new Object()));
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        assertFalse(interceptor.preHandle(request("wrong-secret"), response, new Object()));
+        assertEquals(429, response.getStatus());
+
+        MockHttpServletRequest withoutToken = request(null);
+        withoutToken.addHeader(ClusterRouter.FORWARDED_HEADER, "x");
+        assertFalse(interceptor.preHandle(withoutToken, new MockHttpServletResponse(), new Object()));
+    }
+
+    @Test
+    void givenVerifiedPeerWhenLimitExceededThenForwardedRequestPasses() throws Exception {
+        MockHttpServletRequest first = request(null);
+        assertTrue(interceptor.preHandle(first, new MockHttpServletResponse(), new Object()));
+        interceptor.afterCompletion(first, new MockHttpServletResponse(), new Object(), null);
+
+        assertTrue(interceptor.preHandle(request(SECRET), new MockHttpServletResponse(), new Object()));
+    }
+
+    @Test
+    void givenUnknownApiKeysWhenLimitExceededThenLimitedByClientIp() throws Exception {
+        MockHttpServletRequest first = withApiKey("random-1");
+        assertTrue(interceptor.preHandle(first, new MockHttpServletResponse(), new Object()));
+        interceptor.afterCompletion(first, new MockHttpServletResponse(), new Object(), null);
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        assertFalse(interceptor.preHandle(withApiKey("random-2"), response, new Object()));
+        assertEquals(429, response.getStatus());
+    }
+
+    @Test
+    void givenIssuedApiKeyWhenClientIpExhaustedThenKeyHasOwnBucket() throws Exception {
+        MockHttpServletRequest first = request(null);
+        assertTrue(interceptor.preHandle(first, new MockHttpServletResponse(), new Object()));
+        interceptor.afterCompletion(first, new MockHttpServletResponse(), new Object(), null);
+
+        assertTrue(interceptor.preHandle(withApiKey("issued-key"), new MockHttpServletResponse(), new Object()));
+    }
+
+    @Test
+    void givenAllSlotsTakenWhenExportRequestedThenNotShedAndHoldsNoSlot() throws Exception {
+        MockHttpServletRequest upstream = request(null);
+        assertTrue(interceptor.preHandle(upstream, new MockHttpServletResponse(), new Object()));
+        assertEquals(1, loadShedder.getInFlight());
+
+        HandlerMethod export = new HandlerMethod(new TemperatureExportController(mock(TemperatureExportService.class)),
+                TemperatureExportController.class.getMethod("export", String.class, String.class, LocalDateTime.class, LocalDateTime.class, int.class));
+        MockHttpServletRequest exportRequest = request(null);
+        exportRequest.setRemoteAddr("198.51.100.1");
+        assertTrue(interceptor.preHandle(exportRequest, new MockHttpServletResponse(), export));
+        interceptor.afterCompletion(exportRequest, new MockHttpServletResponse(), export, null);
+
+        assertEquals(1, loadShedder.getInFlight());
+    }
+
+    private static MockHttpServletRequest withApiKey(String apiKey) {
+        MockHttpServletRequest request = request(null);
+        request.addHeader("X-API-Key", apiKey);
+        return request;
+    }
+
+    private static MockHttpServletRequest request(String token) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/temperature");
+        request.setRemoteAddr("203.0.113.7");
+        if (token != null) {
+            request.addHeader(ClusterRouter.FORWARDED_HEADER, "x");
+            request.addHeader(ClusterRouter.PEER_TOKEN_HEADER, token);
+        }
+        return request;
+    }
+}
@@ -0,0 +1,73 @@
+package org.meteoapp.JUnit.throttle;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.meteoapp.config.MeteoProperties;
+import org.meteoapp.throttle.TokenBucketRateLimiter;
+
+import java.time.Clock;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class TokenBucketRateLimiterTest {
+
+    private Clock clock;
+    private TokenBucketRateLimiter rateLimiter;
+
+    @BeforeEach
+    void setUp() {
+        clock = mock(Clock.class);
+        when(clock.millis()).thenReturn(0L);
+        MeteoProperties properties = new MeteoProperties();
+        properties.getRatelimit().setRequestsPerSecond(10);
+        properties.getRatelimit().setBurst(2);
+        properties.getRatelimit().setStripes(4);
+        rateLimiter = new TokenBucketRateLimiter(clock, properties);
+    }
+
+    @Test
+    void givenBurstUsedWhenTryAcquireThenReturnsWaitUntilNextToken() {
+        assertEquals(0, rateLimiter.tryAcquire("client"));
+        assertEquals(0, rateLimiter.tryAcquire("client"));
+
+        assertEquals(100, rateLimiter.tryAcquire("client"));
+    }
+
+    @Test
+    void givenTimePassedWhenTryAcquireThenTokensAreRefilled() {
+        rateLimiter.tryAcquire("client");
+        rateLimiter.tryAcquire("client");
+        when(clock.millis()).thenReturn(100L);
+
+        assertEquals(0, rateLimiter.tryAcquire("client"));
+    }
+
+    @Test
+    void givenOneClientThrottledWhenOtherClientAcquiresThenItIsNotAffected() {
+        rateLimiter.tryAcquire("client");
+        rateLimiter.tryAcquire("client");
+
+        assertTrue(rateLimiter.tryAcquire("client") > 0);
+        assertEquals(0, rateLimiter.tryAcquire("other"));
+    }
+
+    @Test
+    void givenStripeFullWhenNewClientArrivesThenLeastRecentlySeenClientIsDropped() {
+        MeteoProperties properties = new MeteoProperties();
+        properties.getRatelimit().setRequestsPerSecond(10);
+        properties.getRatelimit().setBurst(1);
+        properties.getRatelimit().setStripes(1);
+        properties.getRatelimit().setMaxClients(2);
+        rateLimiter = new TokenBucketRateLimiter(clock, properties);
+
+        rateLimiter.tryAcquire("recent");
+        rateLimiter.tryAcquire("idle");
+        rateLimiter.tryAcquire("idle");
+        assertTrue(rateLimiter.tryAcquire("recent") > 0);
+        rateLimiter.tryAcquire("new");
+
+        assertTrue(rateLimiter.tryAcquire("recent") > 0);
+        assertEquals(0, rateLimiter.tryAcquire("idle"));
+    }
+}
@@ -0,0 +1,115 @@
+package org.meteoapp.JUnit.warmup;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.meteoapp.cluster.ClusterRouter;
+import org.meteoapp.config.MeteoProperties;
+import org.meteoapp.model.Coordinate;
+import org.meteoapp.model.TemperatureData;
+import org.meteoapp.repository.TemperatureRepository;
+import org.meteoapp.service.TemperatureService;
+import org.meteoapp.warmup.CacheWarmUp;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.boot.DefaultApplicationArguments;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class CacheWarmUpTest {
+
+    @Mock
+    private TemperatureRepository repository;
+
+    @Mock
+    private TemperatureService temperatureService;
+
+    @Mock
+    private ClusterRouter clusterRouter;
+
+    private MeteoProperties properties;
+    private CacheWarmUp warmUp;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+
+        properties = new MeteoProperties();
+        MeteoProperties.Warmup warmup = properties.getWarmup();
+        warmup.setEnabled(true);
+        warmup.setCoordinates("40.7128,-74.0060;51.5072,-0.1276;48.8566,2.3522");
+        warmup.setReadBatchSize(2);
+        warmup.setReadParallelism(2);
+        warmup.setUpstreamBatchSize(10);
+        warmup.setUpstreamRequestsPerSecond(0);
+        warmup.setMaxDuration(Duration.ofMinutes(1));
+        warmUp = new CacheWarmUp(repository, temperatureService, clusterRouter, Clock.fixed(Instant.now(), ZoneOffset.UTC), properties);
+
+        when(clusterRouter.isOwner(anyLong())).thenReturn(true);
+    }
+
+    @Test
+    void givenFreshReadingsInRepositoryWhenWarmUpThenPreloadsWithoutUpstreamCalls() throws Exception {
+        when(repository.findByCoordinates(anyCollection())).thenAnswer(invocation -> {
+            List<Coordinate> batch = List.copyOf(invocation.getArgument(0));
+            return batch.stream().map(CacheWarmUpTest::reading).toList();
+        });
+        when(temperatureService.preload(any(TemperatureData.class))).thenReturn(true);
+
+        warmUp.run(new DefaultApplicationArguments());
+
+        verify(repository, times(2)).findByCoordinates(anyCollection());
+        verify(temperatureService, times(3)).preload(any(TemperatureData.class));
+        verify(temperatureService, never()).fetchAndSaveTemperatureData(anyList());
+    }
+
+    @Test
+    void givenMissingReadingsWhenWarmUpThenRefreshesOwnedLocationsInOneBatch() throws Exception {
+        when(repository.findByCoordinates(anyCollection())).thenReturn(List.of());
+        when(clusterRouter.isOwner(anyLong())).thenReturn(true, false, true);
+
+        warmUp.run(new DefaultApplicationArguments());
+
+        verify(temperatureService, times(1)).fetchAndSaveTemperatureData(
+                List.of(new Coordinate(40.7128, -74.0060), new Coordinate(48.8566, 2.3522)));
+    }
+
+    @Test
+    void givenWarmUpDisabledWhenRunThenDoesNothing() throws Exception {
+        properties.getWarmup().setEnabled(false);
+
+        warmUp.run(new DefaultApplicationArguments());
+
+        verifyNoInteractions(repository, temperatureService, clusterRouter);
+    }
+
+    @Test
+    void givenRepositoryFailureWhenWarmUpThenStartsColdInsteadOfFailing() {
+        when(repository.findByCoordinates(anyCollection())).thenThrow(new IllegalStateException("Timed out waiting for a server"));
+
+        assertDoesNotThrow(() -> warmUp.run(new DefaultApplicationArguments()));
+        verify(temperatureService, never()).fetchAndSaveTemperatureData(anyList());
+    }
+
+    @Test
+    void givenMalformedConfiguredCoordinatesWhenWarmUpThenFailsStartup() {
+        properties.getWarmup().setCoordinates("40.7128;51.5072,-0.1276");
+
+        assertThrows(IllegalArgumentException.class, () -> warmUp.run(new DefaultApplicationArguments()));
+    }
+
+    private static TemperatureData reading(Coordinate coordinate) {
+        TemperatureData data = new TemperatureData();
+        data.setLatitude(coordinate.latitude());
+        data.setLongitude(coordinate.longitude());
+        data.setTemperature(20.0);
+        return data;
+    }
+}